@@ -15,7 +15,13 @@
  */
 package com.streamsets.pipeline.api;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Collector processor ({@link Processor}) and destination ({@link Target}) stages receive an instance of a
@@ -44,10 +50,101 @@ public interface Batch {
   /**
    * Returns an iterator with all the records in the batch for the current stage.
    * <p/>
-   * Every time this method is called it returns a new iterator with all records in the batch.
+   * Every time this method is called it returns a new iterator with all records in the batch. Implementations must
+   * not return the same iterator twice: the default {@link #getRecordCount()} and {@link #getRecordList()}, and the
+   * methods based on them, consume an iterator of their own on every call.
    *
    * @return an iterator with all the records in the batch for the current stage.
    */
   public Iterator<Record> getRecords();
 
+  /**
+   * Returns the number of records in the batch.
+   * <p/>
+   * This implementation counts the records of a new iterator from {@link #getRecords()}, implementations knowing the
+   * number of records should override it.
+   *
+   * @return the number of records in the batch.
+   */
+  public default int getRecordCount() {
+    int count = 0;
+    for (Iterator<Record> it = getRecords(); it.hasNext(); it.next()) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Returns all the records in the batch as an unmodifiable random access list, in the order of
+   * {@link #getRecords()}.
+   * <p/>
+   * This implementation copies the records of a new iterator from {@link #getRecords()} on every call,
+   * implementations holding the records in a list should override it.
+   *
+   * @return the records in the batch.
+   */
+  public default List<Record> getRecordList() {
+    List<Record> records = new ArrayList<>();
+    for (Iterator<Record> it = getRecords(); it.hasNext(); ) {
+      records.add(it.next());
+    }
+    return Collections.unmodifiableList(records);
+  }
+
+  /**
+   * Returns a sized <code>Spliterator</code> over the records in the batch, which splits evenly for parallel
+   * processing.
+   *
+   * @return a <code>Spliterator</code> over the records in the batch.
+   */
+  public default Spliterator<Record> spliterator() {
+    return getRecordList().spliterator();
+  }
+
+  /**
+   * Returns a sequential <code>Stream</code> of the records in the batch.
+   *
+   * @return a sequential <code>Stream</code> of the records in the batch.
+   */
+  public default Stream<Record> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel <code>Stream</code> of the records in the batch.
+   * <p/>
+   * The records are processed by the threads of the common <code>ForkJoinPool</code>, the <code>Context</code> methods
+   * that deal with records, such as <code>toError()</code> or <code>toEvent()</code>, must not be used from them.
+   *
+   * @return a parallel <code>Stream</code> of the records in the batch.
+   */
+  public default Stream<Record> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  /**
+   * Returns the estimated in-memory size in bytes of the records in the batch, if known.
+   * <p/>
+   * This implementation returns <code>-1</code>.
+   *
+   * @return the estimated in-memory size in bytes of the records in the batch, <code>-1</code> if unknown.
+   */
+  public default long getEstimatedSize() {
+    return -1;
+  }
+
+  /**
+   * Calls given visitor for each field that matches the given filter of all the records in the batch, one record
+   * after the other.
+   * <p/>
+   * See {@link Record#forEachField(FieldFilter, FieldVisitor)}.
+   *
+   * @param filter Filter of the fields to visit.
+   * @param visitor Visitor that will be called for each matching field of the records.
+   * @throws StageException if thrown by the visitor, the remaining fields are not visited.
+   */
+  public default void forEachField(FieldFilter filter, FieldVisitor visitor) throws StageException {
+    filter.visit(this, visitor);
+  }
+
 }
@@ -15,6 +15,7 @@
  */
 package com.streamsets.pipeline.api;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,4 +37,27 @@ public interface BatchContext extends ToErrorContext, ToEventContext, ProcessedC
    */
   List<Record> getSourceResponseRecords();
 
+  /**
+   * Adds records to the batch maker of this batch context, in order.
+   *
+   * @param records the records to add.
+   * @param lanes the lane(s)/stream(s) to add the records to. If the stage has a single output lane there is no need
+   * to specify the lane name.
+   * @see BatchMaker#addRecords(Collection, String...)
+   */
+  public default void addRecords(Collection<Record> records, String... lanes) {
+    getBatchMaker().addRecords(records, lanes);
+  }
+
+  /**
+   * Adds records to the given lane of the batch maker of this batch context, in order.
+   *
+   * @param records the records to add.
+   * @param lane the handle of the lane/stream to add the records to.
+   * @see BatchMaker#addRecordsToLane(Collection, LaneHandle)
+   */
+  public default void addRecordsToLane(Collection<Record> records, LaneHandle lane) {
+    getBatchMaker().addRecordsToLane(records, lane);
+  }
+
 }
@@ -15,6 +15,7 @@
  */
 package com.streamsets.pipeline.api;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -35,8 +36,50 @@ public interface BatchMaker {
    *
    * @param record the record to add.
    * @param lanes the lane(s)/stream(s) to add the record to. If the stage has a single output lane there is no need
-   * to specify the lane name.
+   * to specify the lane name. Callers may pass the same array on every call, implementations must not modify it.
    */
   public void addRecord(Record record, String... lanes);
 
+  /**
+   * Adds a record to the given lane of the <code>BatchMaker</code>.
+   * <p/>
+   * The default implementation calls {@link #addRecord(Record, String...)} with the lanes array cached by the handle.
+   * Implementations can override it to use the lane index instead of resolving the lane name.
+   *
+   * @param record the record to add.
+   * @param lane the handle of the lane/stream to add the record to.
+   */
+  public default void addRecordToLane(Record record, LaneHandle lane) {
+    addRecord(record, lane.toArray());
+  }
+
+  /**
+   * Adds records to the <code>BatchMaker</code>, in order.
+   * <p/>
+   * The result is the same as calling {@link #addRecord(Record, String...)} for each record, which is what the default
+   * implementation does, so it is no faster. Implementations can override it to size their buffers once and do the
+   * per-call bookkeeping once for all the records.
+   *
+   * @param records the records to add.
+   * @param lanes the lane(s)/stream(s) to add the records to. If the stage has a single output lane there is no need
+   * to specify the lane name.
+   */
+  public default void addRecords(Collection<Record> records, String... lanes) {
+    for (Record record : records) {
+      addRecord(record, lanes);
+    }
+  }
+
+  /**
+   * Adds records to the given lane of the <code>BatchMaker</code>, in order.
+   * <p/>
+   * See {@link #addRecords(Collection, String...)}.
+   *
+   * @param records the records to add.
+   * @param lane the handle of the lane/stream to add the records to.
+   */
+  public default void addRecordsToLane(Collection<Record> records, LaneHandle lane) {
+    addRecords(records, lane.toArray());
+  }
+
 }
@@ -23,6 +23,7 @@ import com.streamsets.pipeline.api.impl.CreateByRef;
 import com.streamsets.pipeline.api.impl.DateTypeSupport;
 import com.streamsets.pipeline.api.impl.DecimalTypeSupport;
 import com.streamsets.pipeline.api.impl.DoubleTypeSupport;
+import com.streamsets.pipeline.api.impl.FieldAttributes;
 import com.streamsets.pipeline.api.impl.FloatTypeSupport;
 import com.streamsets.pipeline.api.impl.IntegerTypeSupport;
 import com.streamsets.pipeline.api.impl.ListMapTypeSupport;
@@ -30,17 +31,19 @@ import com.streamsets.pipeline.api.impl.ListTypeSupport;
 import com.streamsets.pipeline.api.impl.LongTypeSupport;
 import com.streamsets.pipeline.api.impl.MapTypeSupport;
 import com.streamsets.pipeline.api.impl.FileRefTypeSupport;
+import com.streamsets.pipeline.api.impl.Fingerprints;
 import com.streamsets.pipeline.api.impl.ShortTypeSupport;
 import com.streamsets.pipeline.api.impl.StringTypeSupport;
+import com.streamsets.pipeline.api.impl.TypeConverters;
 import com.streamsets.pipeline.api.impl.TypeSupport;
 import com.streamsets.pipeline.api.impl.Utils;
 import com.streamsets.pipeline.api.impl.ZonedDateTimeTypeSupport;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,10 +67,28 @@ import java.util.Set;
  * <b>NOTE:</b> Java <code>Date</code> and <code>byte[]</code> are not immutable. <code>Field</code> makes immutable
  * by performing a copy on <code>create()</code> and on <code>get()</code>. This means that if a <code>Date</code> or
  * <code>byte[]</code> instance obtained from a <code>Field</code> is modified, the actual value stored in the
- * <code>Field</code> is not modified.
+ * <code>Field</code> is not modified. Large <code>byte[]</code> values can be passed around without copies using
+ * {@link #createByteArrayByRef(byte[])} and {@link #getValueAsByteBuffer()}.
  * <p/>
  * The {@link #hashCode}, {@link #equals} and {@link #clone} methods work in deep operation mode on the
  * <code>Field</code>.
+ * <p/>
+ * <code>BOOLEAN</code>, <code>BYTE</code>, <code>SHORT</code>, <code>INTEGER</code>, <code>LONG</code>,
+ * <code>FLOAT</code> and <code>DOUBLE</code> values are stored in primitive form, the <code>getValueAsBoolean()</code>,
+ * <code>getValueAsByte()</code>, <code>getValueAsShort()</code>, <code>getValueAsInteger()</code>,
+ * <code>getValueAsLong()</code>, <code>getValueAsFloat()</code> and <code>getValueAsDouble()</code> methods do not
+ * allocate for them. The boxed value is only created if {@link #getValue()} is called.
+ * <p/>
+ * <code>DATE</code>, <code>DATETIME</code> and <code>TIME</code> values are stored as milliseconds since the epoch,
+ * a <code>Date</code> is only created when requested, {@link #getValueAsEpochMillis()} does not allocate.
+ * <p/>
+ * <code>MAP</code>, <code>LIST</code> and <code>LIST_MAP</code> values are copied lazily: a clone shares the
+ * collection with the original <code>Field</code> until either of them hands it out via {@link #getValue()}, at which
+ * point that <code>Field</code> gets its own copy (whose elements are cloned in the same lazy fashion). Cloning a
+ * large tree and then modifying part of it only copies the collections along the modified paths.
+ * <p/>
+ * Attributes are kept in a compact map that iterates in insertion order. Clones share the attributes of the original
+ * <code>Field</code> until either of them modifies them.
  *
  * @see Record
  */
@@ -75,7 +96,26 @@ public class Field implements Cloneable {
 
   private Type type;
   private Object value;
+  // Value of the BOOLEAN, BYTE, SHORT, INTEGER, LONG, FLOAT and DOUBLE types (floating point ones as raw bits) and of
+  // the DATE, DATETIME and TIME types (epoch millis), if set 'value' is only used to cache the boxed value.
+  private long primitiveValue;
+  private boolean primitive;
+  // MAP, LIST and LIST_MAP values: SHARED means the collection may be referenced by clones of this field and must be
+  // copied before handing it out, EXPOSED means a reference to the collection has been handed out and the collection
+  // can't be shared by clones anymore (it may be modified at any time). clone() moves the field it is called on to
+  // SHARED, so a read can race with a clone of the same field (e.g. a field within a collection shared by records
+  // processed in different threads): the transitions are done holding the field lock and the state is volatile, for
+  // the value to be published with it.
+  private static final int EXCLUSIVE = 0;
+  private static final int SHARED = 1;
+  private static final int EXPOSED = 2;
+  private volatile int state;
+  // MAP, LIST and LIST_MAP values: cached hashcode (and fingerprint, in 'primitiveValue'), 0 if not computed. They are
+  // only used while the collection has not been exposed, until then nothing can have modified the value.
+  private int hash;
   private Map<String, String> attributes;
+  // the attributes map is shared with a clone, it must be copied before modifying it
+  private boolean attributesShared;
 
   /**
    * Enum defining all <code>Field</code> types.
@@ -113,8 +153,25 @@ public class Field implements Cloneable {
       return (value != null) ? supporter.convert(value) : null;
     }
 
+    // source type ordinal x target type ordinal
+    private static final TypeConverters.Converter[][] CONVERTERS = new TypeConverters.Converter[values().length][];
+
+    static {
+      for (Type source : values()) {
+        CONVERTERS[source.ordinal()] = new TypeConverters.Converter[values().length];
+        for (Type target : values()) {
+          TypeConverters.Converter converter = TypeConverters.get(source, target);
+          if (converter == null) {
+            TypeSupport<?> targetSupporter = target.supporter;
+            converter = value -> source.supporter.convert(value, targetSupporter);
+          }
+          CONVERTERS[source.ordinal()][target.ordinal()] = converter;
+        }
+      }
+    }
+
     private Object convert(Object value, Type targetType) {
-      return (value != null) ? supporter.convert(value, targetType.supporter) : null;
+      return (value != null) ? CONVERTERS[ordinal()][targetType.ordinal()].convert(value) : null;
     }
 
     private boolean equals(Object value1, Object value2) {
@@ -164,10 +221,146 @@ public class Field implements Cloneable {
 
   private Field(Type type, Object value, Map<String, String> attributes) {
     this.type = type;
-    this.value = CreateByRef.isByRef() ? value : type.constructorCopy(value);
+    if (value != null && isPrimitive(type)) {
+      this.primitiveValue = toPrimitive(type, value);
+      this.primitive = true;
+    } else if (CreateByRef.isByRef()) {
+      this.value = value;
+      this.state = EXPOSED;
+    } else {
+      this.value = type.constructorCopy(value);
+    }
     if (attributes != null) {
-      this.attributes = new LinkedHashMap<>(attributes);
+      this.attributes = new FieldAttributes(attributes);
+    }
+  }
+
+  // creates a clone sharing the value, for MAP, LIST and LIST_MAP fields the collection is copied on first access
+  private Field(Field other) {
+    this.type = other.type;
+    this.value = other.value;
+    this.state = isCollection(type) ? SHARED : EXCLUSIVE;
+    this.hash = other.hash;
+    this.primitiveValue = other.primitiveValue;
+    shareAttributes(other);
+  }
+
+  // the attributes are copied by whichever of the two fields modifies them first
+  private Field shareAttributes(Field other) {
+    if (other.attributes != null) {
+      attributes = other.attributes;
+      attributesShared = true;
+      other.attributesShared = true;
     }
+    return this;
+  }
+
+  private Map<String, String> mutableAttributes() {
+    if (attributes == null) {
+      attributes = new FieldAttributes();
+    } else if (attributesShared) {
+      attributes = new FieldAttributes(attributes);
+      attributesShared = false;
+    }
+    return attributes;
+  }
+
+  private static boolean isCollection(Type type) {
+    return type == Type.MAP || type == Type.LIST || type == Type.LIST_MAP;
+  }
+
+  private Field(Type type, long primitiveValue, Map<String, String> attributes) {
+    this.type = type;
+    this.primitiveValue = primitiveValue;
+    this.primitive = true;
+    if (attributes != null) {
+      this.attributes = new FieldAttributes(attributes);
+    }
+  }
+
+  private static boolean isPrimitive(Type type) {
+    switch (type) {
+      case BOOLEAN:
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+      case DATE:
+      case DATETIME:
+      case TIME:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isDate(Type type) {
+    return type == Type.DATE || type == Type.DATETIME || type == Type.TIME;
+  }
+
+  // the value has already been converted to the type, so the cast is safe
+  private static long toPrimitive(Type type, Object value) {
+    switch (type) {
+      case BOOLEAN:
+        return ((Boolean) value) ? 1 : 0;
+      case FLOAT:
+        return Float.floatToRawIntBits((Float) value);
+      case DOUBLE:
+        return Double.doubleToRawLongBits((Double) value);
+      case DATE:
+      case DATETIME:
+      case TIME:
+        return ((Date) value).getTime();
+      default:
+        return ((Number) value).longValue();
+    }
+  }
+
+  private Object toBoxed() {
+    switch (type) {
+      case BOOLEAN:
+        return primitiveValue != 0;
+      case BYTE:
+        return (byte) primitiveValue;
+      case SHORT:
+        return (short) primitiveValue;
+      case INTEGER:
+        return (int) primitiveValue;
+      case FLOAT:
+        return Float.intBitsToFloat((int) primitiveValue);
+      case DOUBLE:
+        return Double.longBitsToDouble(primitiveValue);
+      case DATE:
+      case DATETIME:
+      case TIME:
+        return new Date(primitiveValue);
+      default:
+        return primitiveValue;
+    }
+  }
+
+  // returns the stored value, boxing (and caching) primitive values, the cached Date of date types is never handed out
+  private Object value() {
+    if (primitive && value == null) {
+      value = toBoxed();
+    }
+    return value;
+  }
+
+  private boolean isFloatingPoint() {
+    return type == Type.FLOAT || type == Type.DOUBLE;
+  }
+
+  // BYTE, SHORT, INTEGER, LONG, FLOAT and DOUBLE primitive values
+  private boolean isPrimitiveNumber() {
+    return primitive && type != Type.BOOLEAN && !isDate(type);
+  }
+
+  // only valid for FLOAT and DOUBLE primitive values
+  private double primitiveAsDouble() {
+    return (type == Type.FLOAT) ? Float.intBitsToFloat((int) primitiveValue) : Double.longBitsToDouble(primitiveValue);
   }
 
   /**
@@ -186,7 +379,7 @@ public class Field implements Cloneable {
    * @return a <code>boolean Field</code> with the given value.
    */
   public static Field create(boolean v) {
-    return new Field(Type.BOOLEAN, v);
+    return new Field(Type.BOOLEAN, v ? 1 : 0, null);
   }
 
   /**
@@ -208,7 +401,7 @@ public class Field implements Cloneable {
    * @return a <code>byte Field</code> with the given value.
    */
   public static Field create(byte v) {
-    return new Field(Type.BYTE, v);
+    return new Field(Type.BYTE, v, null);
   }
 
   /**
@@ -219,7 +412,7 @@ public class Field implements Cloneable {
    * @return a <code>short Field</code> with the given value.
    */
   public static Field create(short v) {
-    return new Field(Type.SHORT, v);
+    return new Field(Type.SHORT, v, null);
   }
 
   /**
@@ -230,7 +423,7 @@ public class Field implements Cloneable {
    * @return a <code>int Field</code> with the given value.
    */
   public static Field create(int v) {
-    return new Field(Type.INTEGER, v);
+    return new Field(Type.INTEGER, v, null);
   }
 
   /**
@@ -241,7 +434,7 @@ public class Field implements Cloneable {
    * @return a <code>long Field</code> with the given value.
    */
   public static Field create(long v) {
-    return new Field(Type.LONG, v);
+    return new Field(Type.LONG, v, null);
   }
 
   /**
@@ -252,7 +445,7 @@ public class Field implements Cloneable {
    * @return a <code>float Field</code> with the given value.
    */
   public static Field create(float v) {
-    return new Field(Type.FLOAT, v);
+    return new Field(Type.FLOAT, Float.floatToRawIntBits(v), null);
   }
 
   /**
@@ -263,7 +456,7 @@ public class Field implements Cloneable {
    * @return a <code>double Field</code> with the given value.
    */
   public static Field create(double v) {
-    return new Field(Type.DOUBLE, v);
+    return new Field(Type.DOUBLE, Double.doubleToRawLongBits(v), null);
   }
 
   /**
@@ -299,6 +492,24 @@ public class Field implements Cloneable {
     return new Field(Type.BYTE_ARRAY, v);
   }
 
+  /**
+   * Creates a <code>BYTE_ARRAY</code> field taking ownership of the given array, no copy is performed.
+   * <p/>
+   * The caller must not modify the array after calling this method.
+   *
+   * @param v value.
+   *
+   * @return a <code>byte array Field</code> with the given value.
+   */
+  public static Field createByteArrayByRef(byte[] v) {
+    Field field = new Field();
+    field.type = Type.BYTE_ARRAY;
+    field.value = v;
+    // the array belongs to the caller
+    field.state = EXPOSED;
+    return field;
+  }
+
   /**
    * Creates a <code>DATE</code> field.
    *
@@ -310,6 +521,17 @@ public class Field implements Cloneable {
     return new Field(Type.DATE, v);
   }
 
+  /**
+   * Creates a <code>DATE</code> field from milliseconds since the epoch.
+   *
+   * @param epochMillis value.
+   *
+   * @return a <code>Date Field</code> with the given value.
+   */
+  public static Field createDate(long epochMillis) {
+    return new Field(Type.DATE, epochMillis, null);
+  }
+
   /**
    * Creates a <code>DATETIME</code> field.
    * <p/>
@@ -324,6 +546,17 @@ public class Field implements Cloneable {
     return new Field(Type.DATETIME, v);
   }
 
+  /**
+   * Creates a <code>DATETIME</code> field from milliseconds since the epoch.
+   *
+   * @param epochMillis value.
+   *
+   * @return a <code>Datetime Field</code> with the given value.
+   */
+  public static Field createDatetime(long epochMillis) {
+    return new Field(Type.DATETIME, epochMillis, null);
+  }
+
   /**
    * Creates a <code>TIME</code> field.
    * <p/>
@@ -338,6 +571,17 @@ public class Field implements Cloneable {
     return new Field(Type.TIME, v);
   }
 
+  /**
+   * Creates a <code>TIME</code> field from milliseconds since the epoch.
+   *
+   * @param epochMillis value.
+   *
+   * @return a <code>Time Field</code> with the given value.
+   */
+  public static Field createTime(long epochMillis) {
+    return new Field(Type.TIME, epochMillis, null);
+  }
+
   /**
    * Creates a <code>ZONED_DATETIME</code> field.
    *
@@ -457,7 +701,26 @@ public class Field implements Cloneable {
    * @return the value of the field.
    */
   public Object getValue() {
-    return type.getReference(value);
+    if (primitive && isDate(type)) {
+      return new Date(primitiveValue);
+    }
+    if (value != null && isCollection(type)) {
+      return expose();
+    }
+    return type.getReference(value());
+  }
+
+  // hands out the collection value, copying it first if it is shared with clones
+  private Object expose() {
+    if (state != EXPOSED) {
+      synchronized (this) {
+        if (state == SHARED) {
+          value = type.constructorCopy(value);
+        }
+        state = EXPOSED;
+      }
+    }
+    return value;
   }
 
   /**
@@ -467,6 +730,9 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to boolean.
    */
   public boolean getValueAsBoolean() {
+    if (primitive && !isDate(type)) {
+      return isFloatingPoint() ? primitiveAsDouble() != 0 : primitiveValue != 0;
+    }
     return (boolean) type.convert(getValue(), Type.BOOLEAN);
   }
 
@@ -487,6 +753,9 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to byte.
    */
   public byte getValueAsByte() {
+    if (isPrimitiveNumber()) {
+      return isFloatingPoint() ? (byte) primitiveAsDouble() : (byte) primitiveValue;
+    }
     return (byte) type.convert(getValue(), Type.BYTE);
   }
 
@@ -497,6 +766,9 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to short.
    */
   public short getValueAsShort() {
+    if (isPrimitiveNumber()) {
+      return isFloatingPoint() ? (short) primitiveAsDouble() : (short) primitiveValue;
+    }
     return (short) type.convert(getValue(), Type.SHORT);
   }
 
@@ -507,6 +779,9 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to int.
    */
   public int getValueAsInteger() {
+    if (isPrimitiveNumber()) {
+      return isFloatingPoint() ? (int) primitiveAsDouble() : (int) primitiveValue;
+    }
     return (int) type.convert(getValue(), Type.INTEGER);
   }
 
@@ -517,6 +792,10 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to long.
    */
   public long getValueAsLong() {
+    // dates convert to their epoch millis
+    if (primitive && type != Type.BOOLEAN) {
+      return isFloatingPoint() ? (long) primitiveAsDouble() : (long) primitiveValue;
+    }
     return (long) type.convert(getValue(), Type.LONG);
   }
 
@@ -527,6 +806,9 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to float.
    */
   public float getValueAsFloat() {
+    if (isPrimitiveNumber()) {
+      return isFloatingPoint() ? (float) primitiveAsDouble() : (float) primitiveValue;
+    }
     return (float) type.convert(getValue(), Type.FLOAT);
   }
 
@@ -537,6 +819,9 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to double.
    */
   public double getValueAsDouble() {
+    if (isPrimitiveNumber()) {
+      return isFloatingPoint() ? primitiveAsDouble() : (double) primitiveValue;
+    }
     return (double) type.convert(getValue(), Type.DOUBLE);
   }
 
@@ -547,6 +832,9 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to Date.
    */
   public Date getValueAsDate() {
+    if (primitive && isDate(type)) {
+      return new Date(primitiveValue);
+    }
     return (Date) type.convert(getValue(), Type.DATE);
   }
 
@@ -557,6 +845,9 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to Date.
    */
   public Date getValueAsDatetime() {
+    if (primitive && isDate(type)) {
+      return new Date(primitiveValue);
+    }
     return (Date) type.convert(getValue(), Type.DATE);
   }
 
@@ -567,9 +858,28 @@ public class Field implements Cloneable {
    * @throws IllegalArgumentException if the value cannot be converted to Date.
    */
   public Date getValueAsTime() {
+    if (primitive && isDate(type)) {
+      return new Date(primitiveValue);
+    }
     return (Date) type.convert(getValue(), Type.TIME);
   }
 
+  /**
+   * Returns the Date value of the field as milliseconds since the epoch.
+   * <p/>
+   * For fields with <code>DATE</code>, <code>DATETIME</code> or <code>TIME</code> type no <code>Date</code> instance
+   * is created.
+   *
+   * @return the Date value of the field as milliseconds since the epoch.
+   * @throws IllegalArgumentException if the value cannot be converted to Date.
+   */
+  public long getValueAsEpochMillis() {
+    if (primitive && isDate(type)) {
+      return primitiveValue;
+    }
+    return getValueAsDate().getTime();
+  }
+
   /**
    * Returns value of the Field as a {@linkplain ZonedDateTime}.
    *
@@ -610,8 +920,26 @@ public class Field implements Cloneable {
     return (byte[]) type.convert(getValue(), Type.BYTE_ARRAY);
   }
 
+  /**
+   * Returns a read-only view of the byte array value of the field.
+   * <p/>
+   * Unlike {@link #getValueAsByteArray()}, no copy of the value is performed.
+   *
+   * @return a read-only <code>ByteBuffer</code> over the byte array value of the field, or <code>NULL</code> if the
+   * value is <code>NULL</code>.
+   * @throws IllegalArgumentException if the value cannot be converted to byte array.
+   */
+  public ByteBuffer getValueAsByteBuffer() {
+    byte[] bytes = (type == Type.BYTE_ARRAY) ? (byte[]) value : getValueAsByteArray();
+    return (bytes != null) ? ByteBuffer.wrap(bytes).asReadOnlyBuffer() : null;
+  }
+
   /**
    * Returns the Map value of the field.
+   * <p/>
+   * The collection is handed out for modification: if it is shared with clones of the field (see {@link #clone()})
+   * the first call copies it, even if the caller only reads it. Use {@link #peekValueAsMap()} to read the
+   * collection without copying it.
    *
    * @return the Map value of the field. It returns a reference of the value both for <code>MAP</code> and
    * <code>LIST_MAP</code>.
@@ -624,6 +952,10 @@ public class Field implements Cloneable {
 
   /**
    * Returns the List value of the field.
+   * <p/>
+   * The collection is handed out for modification: if it is shared with clones of the field (see {@link #clone()})
+   * the first call copies it, even if the caller only reads it. Use {@link #peekValueAsList()} to read the
+   * collection without copying it.
    *
    * @return the List value of the field. It returns a reference of the value if the type is <code>LIST</code>, if
    * the type is <code>LIST_MAP</code> it returns a copy of the value.
@@ -636,6 +968,10 @@ public class Field implements Cloneable {
 
   /**
    * Returns the ordered Map value of the field.
+   * <p/>
+   * The collection is handed out for modification: if it is shared with clones of the field (see {@link #clone()})
+   * the first call copies it, even if the caller only reads it. Use {@link #peekValueAsMap()} to read the
+   * collection without copying it.
    *
    * @return the ordered Map value of the field. It returns a reference of the value.
    * @throws IllegalArgumentException if the value cannot be converted to ordered Map.
@@ -645,6 +981,57 @@ public class Field implements Cloneable {
     return (LinkedHashMap<String, Field>) type.convert(getValue(), Type.LIST_MAP);
   }
 
+  /**
+   * Returns an unmodifiable view of the Map value of a <code>MAP</code> or <code>LIST_MAP</code> field, without
+   * copying it.
+   * <p/>
+   * Unlike {@link #getValueAsMap()} the collection is not handed out for modification: it can still be shared with
+   * clones of the field and the cached hashcode stays valid. The fields in the map can be shared with clones too, they
+   * must not be modified, use {@link #getValueAsMap()} to modify them. For other types it is the same as
+   * {@link #getValueAsMap()}.
+   *
+   * @return the Map value of the field.
+   * @throws IllegalArgumentException if the value cannot be converted to Map.
+   */
+  public Map<String, Field> peekValueAsMap() {
+    if (type == Type.MAP || type == Type.LIST_MAP) {
+      Map<String, Field> map = readMap();
+      return (map != null) ? Collections.unmodifiableMap(map) : null;
+    }
+    return getValueAsMap();
+  }
+
+  /**
+   * Returns an unmodifiable view of the List value of a <code>LIST</code> field, without copying it.
+   * <p/>
+   * Unlike {@link #getValueAsList()} the collection is not handed out for modification: it can still be shared with
+   * clones of the field and the cached hashcode stays valid. The fields in the list can be shared with clones too,
+   * they must not be modified, use {@link #getValueAsList()} to modify them. For other types it is the same as
+   * {@link #getValueAsList()}.
+   *
+   * @return the List value of the field.
+   * @throws IllegalArgumentException if the value cannot be converted to List.
+   */
+  public List<Field> peekValueAsList() {
+    if (type == Type.LIST) {
+      List<Field> list = readList();
+      return (list != null) ? Collections.unmodifiableList(list) : null;
+    }
+    return getValueAsList();
+  }
+
+  // the collection of a MAP or LIST_MAP field, for reading only within the package
+  @SuppressWarnings("unchecked")
+  Map<String, Field> readMap() {
+    return (Map<String, Field>) value;
+  }
+
+  // the collection of a LIST field, for reading only within the package
+  @SuppressWarnings("unchecked")
+  List<Field> readList() {
+    return (List<Field>) value;
+  }
+
   /**
    * Returns the {@link FileRef} value of the field.
    *
@@ -691,10 +1078,7 @@ public class Field implements Cloneable {
    * @param value attribute value, it cannot be <code>NULL</code>.
    */
   public void setAttribute(String name, String value) {
-    if (attributes == null) {
-      attributes = new HashMap<>();
-    }
-    attributes.put(name, value);
+    mutableAttributes().put(name, value);
   }
 
   /**
@@ -707,11 +1091,7 @@ public class Field implements Cloneable {
    * @param attributes
    */
   public void setAttributes(Map<String, String> attributes) {
-    if(this.attributes == null) {
-      this.attributes = new HashMap<>(attributes);
-    } else {
-      this.attributes.putAll(attributes);
-    }
+    mutableAttributes().putAll(attributes);
   }
 
   /**
@@ -720,15 +1100,17 @@ public class Field implements Cloneable {
    * @param name the attribute to delete.
    */
   public void deleteAttribute(String name) {
-    if (attributes == null) {
-      return;
-    } else {
-      attributes.remove(name);
+    if (attributes != null && attributes.containsKey(name)) {
+      mutableAttributes().remove(name);
     }
   }
 
   /**
    * Get all field attributes in an unmodifiable Map, or null if no attributes have been added
+   * <p/>
+   * The map is a view of the current attributes. The attributes are shared with clones until either field modifies
+   * them, then the field modifying them gets a copy and a view obtained before may not reflect further changes, call
+   * this method again after modifying the attributes.
    *
    * @return all field attributes, or <code>NULL</code> if none exist
    */
@@ -747,17 +1129,45 @@ public class Field implements Cloneable {
    */
   @Override
   public String toString() {
-    return type.toString(value);
+    return type.toString(value());
   }
 
   /**
    * Returns the hashcode of the field.
    * <p/>
-   * The hashcode is value based and it is computed in a deep fashion.
+   * The hashcode is value based and it is computed in a deep fashion. For <code>MAP</code>, <code>LIST</code> and
+   * <code>LIST_MAP</code> fields it is cached until the collection is handed out by {@link #getValue()}.
    * @return the hashcode of the field.
    */
   @Override
   public int hashCode() {
+    if (value != null && isCollection(type)) {
+      if (state == EXPOSED) {
+        return value.hashCode();
+      }
+      if (hash == 0) {
+        hash = value.hashCode();
+      }
+      return hash;
+    }
+    if (primitive) {
+      // same as the hashcode of the boxed value
+      switch (type) {
+        case BOOLEAN:
+          return Boolean.hashCode(primitiveValue != 0);
+        case LONG:
+        case DATE:
+        case DATETIME:
+        case TIME:
+          return Long.hashCode(primitiveValue);
+        case FLOAT:
+          return Float.hashCode(Float.intBitsToFloat((int) primitiveValue));
+        case DOUBLE:
+          return Double.hashCode(Double.longBitsToDouble(primitiveValue));
+        default:
+          return (int) primitiveValue;
+      }
+    }
     return (value != null) ? value.hashCode() : 0;
   }
 
@@ -773,7 +1183,13 @@ public class Field implements Cloneable {
     if (obj != null && obj instanceof Field) {
       Field other = (Field) obj;
       if (type == other.type) {
-        eq = (value == other.value) || type.equals(value, other.value);
+        if (primitive && other.primitive) {
+          eq = primitiveEquals(other);
+        } else if (isCollection(type) && cachedHashesDiffer(other)) {
+          eq = false;
+        } else {
+          eq = (value() == other.value()) || type.equals(value(), other.value());
+        }
       }
       if (attributes == null) {
         eq &= other.attributes == null;
@@ -789,11 +1205,133 @@ public class Field implements Cloneable {
    * Returns a clone of the field.
    * </p>
    *
-   * @return a clone of the field (deep copy).
+   * @return a clone of the field (deep copy, collections are copied lazily on first access).
    */
   @Override
   public Field clone() {
-    return new Field(type, value, attributes);
+    if (primitive) {
+      return new Field(type, primitiveValue, null).shareAttributes(this);
+    }
+    if (value != null && isCollection(type)) {
+      synchronized (this) {
+        if (state != EXPOSED) {
+          state = SHARED;
+          return new Field(this);
+        }
+      }
+    }
+    if (type == Type.BYTE_ARRAY && state != EXPOSED) {
+      // the array is owned by the field and never handed out, it is safe to share it. Arrays taken by reference
+      // (EXPOSED) belong to the caller and are copied, unless cloning by reference too
+      return new Field(this);
+    }
+    return new Field(type, value, null).shareAttributes(this);
+  }
+
+  // only for MAP, LIST and LIST_MAP fields, a cheap way to tell large trees apart
+  private boolean cachedHashesDiffer(Field other) {
+    if (state == EXPOSED || other.state == EXPOSED) {
+      return false;
+    }
+    return (hash != 0 && other.hash != 0 && hash != other.hash) ||
+        (primitiveValue != 0 && other.primitiveValue != 0 && primitiveValue != other.primitiveValue);
+  }
+
+  /**
+   * Returns a 64-bit fingerprint of the field value.
+   * <p/>
+   * Like the hashcode, the fingerprint is value based, it is computed in a deep fashion and it does not include the
+   * attributes. Equal fields have the same fingerprint and, given its size, different fields have different
+   * fingerprints with very high probability, which makes it suitable as a key to detect duplicate records. It is not
+   * a cryptographic hash.
+   * <p/>
+   * For <code>MAP</code>, <code>LIST</code> and <code>LIST_MAP</code> fields it is cached until the collection is
+   * handed out by {@link #getValue()}.
+   *
+   * @return the fingerprint of the field value.
+   */
+  public long getFingerprint() {
+    boolean cacheable = value != null && state != EXPOSED && isCollection(type);
+    if (cacheable && primitiveValue != 0) {
+      return primitiveValue;
+    }
+    long fingerprint = computeFingerprint();
+    if (cacheable) {
+      primitiveValue = fingerprint;
+    }
+    return fingerprint;
+  }
+
+  @SuppressWarnings("unchecked")
+  private long computeFingerprint() {
+    long start = Fingerprints.start(type.ordinal());
+    if (primitive) {
+      long bits = primitiveValue;
+      // same canonical NaN as equals()
+      if (type == Type.FLOAT) {
+        bits = Float.floatToIntBits(Float.intBitsToFloat((int) bits));
+      } else if (type == Type.DOUBLE) {
+        bits = Double.doubleToLongBits(Double.longBitsToDouble(bits));
+      }
+      return Fingerprints.mix(start ^ bits);
+    }
+    if (value == null) {
+      return Fingerprints.mix(~start);
+    }
+    switch (type) {
+      case STRING:
+        return Fingerprints.mix(start ^ Fingerprints.of((String) value));
+      case BYTE_ARRAY:
+        return Fingerprints.mix(start ^ Fingerprints.of((byte[]) value));
+      case LIST:
+        long h = start;
+        for (Field child : (List<Field>) value) {
+          h = Fingerprints.combine(h, (child != null) ? child.getFingerprint() : 0);
+        }
+        return Fingerprints.mix(h);
+      case MAP:
+      case LIST_MAP:
+        // order independent, as Map.equals()
+        long sum = 0;
+        for (Map.Entry<String, Field> entry : ((Map<String, Field>) value).entrySet()) {
+          Field child = entry.getValue();
+          sum += Fingerprints.mix(
+              Fingerprints.combine(Fingerprints.of(entry.getKey()), (child != null) ? child.getFingerprint() : 0)
+          );
+        }
+        return Fingerprints.mix(start ^ sum);
+      case DECIMAL:
+        // same as BigDecimal.equals(), scale included
+        BigDecimal decimal = (BigDecimal) value;
+        return Fingerprints.mix(
+            Fingerprints.combine(start ^ Fingerprints.of(decimal.unscaledValue().toByteArray()), decimal.scale())
+        );
+      case ZONED_DATETIME:
+        // same instant in the same zone, as ZonedDateTime.equals()
+        ZonedDateTime dateTime = (ZonedDateTime) value;
+        h = Fingerprints.combine(start, dateTime.toEpochSecond());
+        h = Fingerprints.combine(h, dateTime.getNano());
+        return Fingerprints.mix(Fingerprints.combine(h, Fingerprints.of(dateTime.getZone().getId())));
+      case CHAR:
+        return Fingerprints.mix(start ^ (Character) value);
+      default:
+        // FILE_REF, compared by identity
+        return Fingerprints.mix(start ^ value.hashCode());
+    }
+  }
+
+  // same as equals() of the boxed values
+  private boolean primitiveEquals(Field other) {
+    switch (type) {
+      case FLOAT:
+        return Float.floatToIntBits(Float.intBitsToFloat((int) primitiveValue)) ==
+            Float.floatToIntBits(Float.intBitsToFloat((int) other.primitiveValue));
+      case DOUBLE:
+        return Double.doubleToLongBits(Double.longBitsToDouble(primitiveValue)) ==
+            Double.doubleToLongBits(Double.longBitsToDouble(other.primitiveValue));
+      default:
+        return primitiveValue == other.primitiveValue;
+    }
   }
 
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import com.streamsets.pipeline.api.impl.RecordTreeFieldBatch;
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Immutable filter of the fields visited by {@link Record#forEachField(FieldFilter, FieldVisitor)} and
+ * {@link Batch#forEachField(FieldFilter, FieldVisitor)}.
+ * <p/>
+ * A field is visited if it is of one of the filter types, it is the field at the filter path prefix or within it, and
+ * its field-path depth (the number of map keys and list indexes in its field-path, <code>0</code> for the root field)
+ * is not greater than the filter maximum depth.
+ * <p/>
+ * Subtrees that cannot match are not walked at all: only the field at the path prefix is walked into, and fields at
+ * the maximum depth are not walked into. The fields of other types are walked into but not given to the visitor, no
+ * field-path is built for them.
+ * <p/>
+ * The fields are walked with a {@link RecordTreeFieldBatch}, which is the <code>RecordField</code> given to the
+ * visitor. The visitor can modify the visited fields through the <code>Field</code> API, for instance to mask their
+ * values: the collections on the way to them are handed out, so those shared with the record the record was cloned
+ * from are copied first and the other record is not modified. Adding or removing fields of the collection being
+ * walked is not supported.
+ */
+public final class FieldFilter {
+
+  /**
+   * Filter visiting all the fields.
+   */
+  public static final FieldFilter ALL = new FieldFilter(null, FieldPath.ROOT, Integer.MAX_VALUE);
+
+  private final Set<Field.Type> types;
+  private final boolean[] typeFlags;
+  private final FieldPath pathPrefix;
+  private final int maxDepth;
+
+  private FieldFilter(Set<Field.Type> types, FieldPath pathPrefix, int maxDepth) {
+    this.types = (types == null) ? null : Collections.unmodifiableSet(EnumSet.copyOf(types));
+    this.typeFlags = new boolean[Field.Type.values().length];
+    for (Field.Type type : Field.Type.values()) {
+      typeFlags[type.ordinal()] = types == null || types.contains(type);
+    }
+    this.pathPrefix = pathPrefix;
+    this.maxDepth = maxDepth;
+  }
+
+  /**
+   * Returns a filter like this one visiting only the fields of the given types.
+   *
+   * @param types the field types to visit.
+   * @return the new filter.
+   */
+  public FieldFilter withTypes(Field.Type... types) {
+    Utils.checkNotNull(types, "types");
+    return withTypes(EnumSet.copyOf(Arrays.asList(types)));
+  }
+
+  /**
+   * Returns a filter like this one visiting only the fields of the given types.
+   *
+   * @param types the field types to visit, <code>NULL</code> for all types.
+   * @return the new filter.
+   */
+  public FieldFilter withTypes(Set<Field.Type> types) {
+    Utils.checkArgument(types == null || !types.isEmpty(), "types cannot be empty");
+    return new FieldFilter(types, pathPrefix, maxDepth);
+  }
+
+  /**
+   * Returns a filter like this one visiting only the field at the given field-path and the fields within it.
+   *
+   * @param pathPrefix the field-path expression.
+   * @return the new filter.
+   * @throws InvalidFieldPathException if the field-path expression is not valid.
+   */
+  public FieldFilter withPathPrefix(String pathPrefix) {
+    return withPathPrefix(FieldPath.parse(pathPrefix));
+  }
+
+  /**
+   * Returns a filter like this one visiting only the field at the given field-path and the fields within it.
+   *
+   * @param pathPrefix the field-path.
+   * @return the new filter.
+   */
+  public FieldFilter withPathPrefix(FieldPath pathPrefix) {
+    Utils.checkNotNull(pathPrefix, "pathPrefix");
+    return new FieldFilter(types, pathPrefix, maxDepth);
+  }
+
+  /**
+   * Returns a filter like this one visiting only the fields up to the given field-path depth.
+   *
+   * @param maxDepth the maximum field-path depth, <code>0</code> visits the root field only.
+   * @return the new filter.
+   */
+  public FieldFilter withMaxDepth(int maxDepth) {
+    Utils.checkArgument(maxDepth >= 0, Utils.formatL("maxDepth '{}' cannot be negative", maxDepth));
+    return new FieldFilter(types, pathPrefix, maxDepth);
+  }
+
+  /**
+   * Returns the field types to visit.
+   *
+   * @return the field types to visit, <code>NULL</code> for all types.
+   */
+  public Set<Field.Type> getTypes() {
+    return types;
+  }
+
+  /**
+   * Returns the field-path of the field to visit the fields within.
+   *
+   * @return the path prefix, {@link FieldPath#ROOT} for all the fields.
+   */
+  public FieldPath getPathPrefix() {
+    return pathPrefix;
+  }
+
+  /**
+   * Returns the maximum field-path depth of the fields to visit.
+   *
+   * @return the maximum field-path depth, <code>Integer.MAX_VALUE</code> if unbounded.
+   */
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  void visit(Record record, FieldVisitor visitor) throws StageException {
+    visit(new RecordTreeFieldBatch(pathPrefix, maxDepth, false), record, visitor);
+  }
+
+  void visit(Batch batch, FieldVisitor visitor) throws StageException {
+    RecordTreeFieldBatch fields = new RecordTreeFieldBatch(pathPrefix, maxDepth, false);
+    Iterator<Record> it = batch.getRecords();
+    while (it.hasNext()) {
+      visit(fields, it.next(), visitor);
+    }
+  }
+
+  private void visit(RecordTreeFieldBatch fields, Record record, FieldVisitor visitor) throws StageException {
+    fields.reset(record);
+    while (fields.next()) {
+      Field field = fields.getField();
+      if (field != null && typeFlags[field.getType().ordinal()]) {
+        visitor.visit(fields);
+      }
+    }
+    fields.reset(null);
+  }
+
+  @Override
+  public String toString() {
+    return Utils.format("FieldFilter[types='{}' pathPrefix='{}' maxDepth='{}']", types, pathPrefix, maxDepth);
+  }
+
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A parsed field-path expression (see {@link Record} for the syntax).
+ * <p/>
+ * Parsing a field-path once and using the <code>FieldPath</code> with the {@link Record#get(FieldPath)},
+ * {@link Record#set(FieldPath, Field)}, {@link Record#has(FieldPath)} and {@link Record#delete(FieldPath)} methods
+ * avoids parsing the same string for every record. Stages should parse the field-paths of their configuration in
+ * <code>init()</code> and keep the <code>FieldPath</code> instances.
+ * <p/>
+ * Map key names can be single-quoted or double-quoted, within quotes a backslash escapes the quote character and
+ * another backslash, other backslashes are taken literally. The string representation of a <code>FieldPath</code>
+ * single-quotes the names that are not a word, as {@link Record#getEscapedFieldPaths()} does, escaping their quotes
+ * and backslashes, so that it parses back to the same field-path.
+ * <p/>
+ * <code>FieldPath</code> instances are immutable and thread safe.
+ */
+public final class FieldPath {
+
+  /**
+   * The field-path of the root field of a record, <code>""</code>.
+   */
+  public static final FieldPath ROOT = new FieldPath(new String[0], new int[0], 0);
+
+  // element i is either a map key (names[i] != null) or a list index (indexes[i]), arrays may be shared with
+  // other FieldPath instances, only the first 'depth' elements belong to this one
+  private final String[] names;
+  private final int[] indexes;
+  private final int depth;
+  private String path;
+  private int hash;
+
+  private FieldPath(String[] names, int[] indexes, int depth) {
+    this.names = names;
+    this.indexes = indexes;
+    this.depth = depth;
+  }
+
+  /**
+   * Parses a field-path expression.
+   *
+   * @param fieldPath the field-path expression.
+   * @return the parsed field-path.
+   * @throws InvalidFieldPathException if the field-path expression is not valid.
+   */
+  public static FieldPath parse(String fieldPath) {
+    Utils.checkNotNull(fieldPath, "fieldPath");
+    if (fieldPath.isEmpty()) {
+      return ROOT;
+    }
+    return new Parser(fieldPath).parse();
+  }
+
+  private static final class Parser {
+    private final String str;
+    private int pos;
+    private String[] names = new String[4];
+    private int[] indexes = new int[4];
+    private int depth;
+
+    Parser(String str) {
+      this.str = str;
+    }
+
+    FieldPath parse() {
+      while (pos < str.length()) {
+        char c = str.charAt(pos);
+        if (c == '/') {
+          pos++;
+          add(parseName(), -1);
+        } else if (c == '[') {
+          pos++;
+          add(null, parseIndex());
+        } else {
+          throw error("expected '/' or '['");
+        }
+      }
+      return new FieldPath(names, indexes, depth);
+    }
+
+    private void add(String name, int index) {
+      if (depth == names.length) {
+        names = Arrays.copyOf(names, depth * 2);
+        indexes = Arrays.copyOf(indexes, depth * 2);
+      }
+      names[depth] = name;
+      indexes[depth] = index;
+      depth++;
+    }
+
+    private String parseName() {
+      if (pos < str.length() && (str.charAt(pos) == '\'' || str.charAt(pos) == '"')) {
+        char quote = str.charAt(pos++);
+        StringBuilder sb = new StringBuilder();
+        while (pos < str.length()) {
+          char c = str.charAt(pos++);
+          if (c == quote) {
+            if (pos < str.length() && str.charAt(pos) != '/' && str.charAt(pos) != '[') {
+              throw error("expected '/' or '[' after quoted name");
+            }
+            return sb.toString();
+          }
+          if (c == '\\' && pos < str.length() && (str.charAt(pos) == quote || str.charAt(pos) == '\\')) {
+            c = str.charAt(pos++);
+          }
+          sb.append(c);
+        }
+        throw error("unterminated quoted name");
+      }
+      int start = pos;
+      while (pos < str.length() && str.charAt(pos) != '/' && str.charAt(pos) != '[') {
+        if (str.charAt(pos) == ']') {
+          throw error("unexpected ']'");
+        }
+        pos++;
+      }
+      return str.substring(start, pos);
+    }
+
+    private int parseIndex() {
+      int start = pos;
+      long index = 0;
+      while (pos < str.length() && str.charAt(pos) >= '0' && str.charAt(pos) <= '9') {
+        index = index * 10 + (str.charAt(pos++) - '0');
+        if (index > Integer.MAX_VALUE) {
+          throw error("index too large");
+        }
+      }
+      if (pos == start || pos == str.length() || str.charAt(pos) != ']') {
+        throw error("expected a list index");
+      }
+      pos++;
+      return (int) index;
+    }
+
+    private InvalidFieldPathException error(String reason) {
+      return new InvalidFieldPathException(Utils.format("Invalid field path '{}' at position {}: {}", str, pos, reason));
+    }
+  }
+
+  private FieldPath append(String name, int index) {
+    String[] newNames = Arrays.copyOf(names, depth + 1);
+    int[] newIndexes = Arrays.copyOf(indexes, depth + 1);
+    newNames[depth] = name;
+    newIndexes[depth] = index;
+    return new FieldPath(newNames, newIndexes, depth + 1);
+  }
+
+  /**
+   * Returns the field-path of the given entry of the map at this field-path.
+   *
+   * @param name the map key name, unescaped.
+   * @return the field-path of the map entry.
+   */
+  public FieldPath child(String name) {
+    return append(Utils.checkNotNull(name, "name"), -1);
+  }
+
+  /**
+   * Returns the field-path of the given element of the list at this field-path.
+   *
+   * @param index the list index.
+   * @return the field-path of the list element.
+   */
+  public FieldPath child(int index) {
+    Utils.checkArgument(index >= 0, Utils.formatL("Invalid list index '{}'", index));
+    return append(null, index);
+  }
+
+  /**
+   * Returns the number of elements of the field-path, zero for the root field-path.
+   *
+   * @return the number of elements of the field-path.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Indicates if this is the field-path of the root field.
+   *
+   * @return if this is the field-path of the root field.
+   */
+  public boolean isRoot() {
+    return depth == 0;
+  }
+
+  /**
+   * Indicates if the given element of the field-path is a list index or a map key.
+   *
+   * @param element element position, from <code>0</code> to <code>getDepth() - 1</code>.
+   * @return <code>true</code> if the element is a list index, <code>false</code> if it is a map key.
+   */
+  public boolean isIndex(int element) {
+    return names[checkElement(element)] == null;
+  }
+
+  /**
+   * Returns the map key name of the given element of the field-path.
+   *
+   * @param element element position, from <code>0</code> to <code>getDepth() - 1</code>.
+   * @return the unescaped map key name, or <code>NULL</code> if the element is a list index.
+   */
+  public String getName(int element) {
+    return names[checkElement(element)];
+  }
+
+  /**
+   * Returns the list index of the given element of the field-path.
+   *
+   * @param element element position, from <code>0</code> to <code>getDepth() - 1</code>.
+   * @return the list index, or <code>-1</code> if the element is a map key.
+   */
+  public int getIndex(int element) {
+    return indexes[checkElement(element)];
+  }
+
+  private int checkElement(int element) {
+    if (element < 0 || element >= depth) {
+      throw new IndexOutOfBoundsException(Utils.format("Element '{}' of field path '{}'", element, this));
+    }
+    return element;
+  }
+
+  /**
+   * Returns the field-path of the parent field.
+   *
+   * @return the field-path of the parent field, or <code>NULL</code> if this is the root field-path.
+   */
+  public FieldPath getParent() {
+    return (depth == 0) ? null : (depth == 1) ? ROOT : new FieldPath(names, indexes, depth - 1);
+  }
+
+  /**
+   * Returns the field name, as defined by {@link RecordField#getFieldName()}: the last map key name of the
+   * field-path, the name of the list for list elements and an empty string for the root field.
+   *
+   * @return the field name.
+   */
+  public String getFieldName() {
+    for (int i = depth - 1; i >= 0; i--) {
+      if (names[i] != null) {
+        return names[i];
+      }
+    }
+    return "";
+  }
+
+  /**
+   * Returns the field at this field-path starting from the given root field.
+   * <p/>
+   * As the returned field can be modified, the collections on the way to it are handed out as by
+   * {@link Field#getValueAsMap()}, copying those shared with clones.
+   *
+   * @param root the root field.
+   * @return the field at this field-path, or <code>NULL</code> if none.
+   */
+  public Field get(Field root) {
+    return get(root, depth);
+  }
+
+  Field get(Field root, int depth) {
+    Field current = root;
+    for (int i = 0; i < depth && current != null; i++) {
+      current = child(current, i, false);
+    }
+    return current;
+  }
+
+  // same as get() for reading only, the collections on the way are not handed out
+  Field find(Field root, int depth) {
+    Field current = root;
+    for (int i = 0; i < depth && current != null; i++) {
+      current = child(current, i, true);
+    }
+    return current;
+  }
+
+  private Field child(Field parent, int element, boolean read) {
+    Field.Type type = parent.getType();
+    if (names[element] != null) {
+      if (!type.isOneOf(Field.Type.MAP, Field.Type.LIST_MAP) || parent.readMap() == null) {
+        return null;
+      }
+      return (read ? parent.readMap() : parent.getValueAsMap()).get(names[element]);
+    }
+    int index = indexes[element];
+    if (type == Field.Type.LIST && parent.readList() != null) {
+      List<Field> list = read ? parent.readList() : parent.getValueAsList();
+      return (index < list.size()) ? list.get(index) : null;
+    }
+    if (type == Field.Type.LIST_MAP && parent.readMap() != null) {
+      Map.Entry<String, Field> entry = entryAt(read ? parent.readMap() : parent.getValueAsListMap(), index);
+      return (entry != null) ? entry.getValue() : null;
+    }
+    return null;
+  }
+
+  // implementation of Record.has(FieldPath)
+  boolean has(Record record) {
+    return find(record.get(), depth) != null;
+  }
+
+  // implementation of Record.set(FieldPath, Field)
+  Field set(Record record, Field newField) {
+    if (depth == 0) {
+      return record.set(newField);
+    }
+    Field parent = get(record.get(), depth - 1);
+    int last = depth - 1;
+    if (parent != null && parent.getValue() != null) {
+      if (names[last] != null && parent.getType().isOneOf(Field.Type.MAP, Field.Type.LIST_MAP)) {
+        return parent.getValueAsMap().put(names[last], newField);
+      }
+      if (names[last] == null && parent.getType() == Field.Type.LIST) {
+        List<Field> list = parent.getValueAsList();
+        if (indexes[last] == list.size()) {
+          list.add(newField);
+          return null;
+        }
+        if (indexes[last] < list.size()) {
+          return list.set(indexes[last], newField);
+        }
+      }
+      if (names[last] == null && parent.getType() == Field.Type.LIST_MAP) {
+        Map.Entry<String, Field> entry = entryAt(parent.getValueAsListMap(), indexes[last]);
+        if (entry != null) {
+          return entry.setValue(newField);
+        }
+      }
+    }
+    throw new IllegalArgumentException(Utils.format("Field-path '{}' not reachable", this));
+  }
+
+  // implementation of Record.delete(FieldPath)
+  Field delete(Record record) {
+    if (depth == 0) {
+      return record.set((Field) null);
+    }
+    Field parent = get(record.get(), depth - 1);
+    int last = depth - 1;
+    if (parent == null || parent.getValue() == null) {
+      return null;
+    }
+    if (names[last] != null) {
+      return parent.getType().isOneOf(Field.Type.MAP, Field.Type.LIST_MAP)
+          ? parent.getValueAsMap().remove(names[last])
+          : null;
+    }
+    if (parent.getType() == Field.Type.LIST) {
+      List<Field> list = parent.getValueAsList();
+      return (indexes[last] < list.size()) ? list.remove(indexes[last]) : null;
+    }
+    if (parent.getType() == Field.Type.LIST_MAP) {
+      LinkedHashMap<String, Field> listMap = parent.getValueAsListMap();
+      Map.Entry<String, Field> entry = entryAt(listMap, indexes[last]);
+      return (entry != null) ? listMap.remove(entry.getKey()) : null;
+    }
+    return null;
+  }
+
+  private static Map.Entry<String, Field> entryAt(Map<String, Field> map, int index) {
+    if (index >= map.size()) {
+      return null;
+    }
+    Iterator<Map.Entry<String, Field>> it = map.entrySet().iterator();
+    for (int i = 0; i < index; i++) {
+      it.next();
+    }
+    return it.next();
+  }
+
+  private String format() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < depth; i++) {
+      if (names[i] != null) {
+        sb.append('/').append(escapeName(names[i]));
+      } else {
+        sb.append('[').append(indexes[i]).append(']');
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns the given map key name as it appears in a field-path expression, single-quoted if it is not a word.
+   *
+   * @param name the map key name.
+   * @return the escaped map key name.
+   */
+  public static String escapeName(String name) {
+    return isWord(name) ? name : "'" + name.replace("\\", "\\\\").replace("'", "\\'") + "'";
+  }
+
+  private static boolean isWord(String name) {
+    boolean word = !name.isEmpty();
+    for (int i = 0; i < name.length() && word; i++) {
+      char c = name.charAt(i);
+      word = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+    return word;
+  }
+
+  /**
+   * Returns the field-path expression, map key names that are not a word are single-quoted.
+   *
+   * @return the field-path expression.
+   */
+  @Override
+  public String toString() {
+    String str = path;
+    if (str == null) {
+      str = format();
+      path = str;
+    }
+    return str;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0 && depth > 0) {
+      h = 1;
+      for (int i = 0; i < depth; i++) {
+        h = 31 * h + ((names[i] != null) ? names[i].hashCode() : indexes[i]);
+      }
+      hash = h;
+    }
+    return h;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof FieldPath)) {
+      return false;
+    }
+    FieldPath other = (FieldPath) obj;
+    if (depth != other.depth) {
+      return false;
+    }
+    for (int i = 0; i < depth; i++) {
+      if (indexes[i] != other.indexes[i] || !Objects.equals(names[i], other.names[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
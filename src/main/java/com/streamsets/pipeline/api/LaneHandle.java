@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pre-resolved output lane (stream) of a stage, to add records to a {@link BatchMaker} with
+ * {@link BatchMaker#addRecordToLane(Record, LaneHandle)}.
+ * <p/>
+ * Stages resolve the handles of their output lanes once, typically in <code>init()</code> with
+ * {@link #of(List)} and <code>getContext().getOutputLanes()</code>, instead of passing the lane names on every record.
+ */
+public final class LaneHandle {
+  private final String lane;
+  private final int index;
+  private final String[] lanes;
+
+  private LaneHandle(String lane, int index) {
+    this.lane = lane;
+    this.index = index;
+    lanes = new String[]{lane};
+  }
+
+  /**
+   * Returns the handles of the given lanes.
+   *
+   * @param lanes the lane names, usually the stage output lanes.
+   * @return the handles of the given lanes, in the same order, the index of each handle is its position.
+   */
+  public static List<LaneHandle> of(List<String> lanes) {
+    Utils.checkNotNull(lanes, "lanes");
+    List<LaneHandle> handles = new ArrayList<>(lanes.size());
+    for (int i = 0; i < lanes.size(); i++) {
+      handles.add(new LaneHandle(Utils.checkNotNull(lanes.get(i), "lane"), i));
+    }
+    return Collections.unmodifiableList(handles);
+  }
+
+  /**
+   * Returns the lane name.
+   *
+   * @return the lane name.
+   */
+  public String getLane() {
+    return lane;
+  }
+
+  /**
+   * Returns the position of the lane in the list of lanes the handle was created from.
+   *
+   * @return the position of the lane.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  // cached single element array with the lane name, to call the varargs BatchMaker.addRecord() with no array per
+  // record, BatchMaker implementations must not modify it
+  String[] toArray() {
+    return lanes;
+  }
+
+  @Override
+  public String toString() {
+    return Utils.format("LaneHandle[lane='{}' index='{}']", lane, index);
+  }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+/**
+ * Threads running the producers of a multithreaded PushSource.
+ */
+public enum ProducerExecutionMode implements Label {
+  /**
+   * One platform thread per producer, the number of threads is in the tens.
+   */
+  PLATFORM_THREADS("Platform Threads"),
+  /**
+   * Lightweight producers, virtual threads when the JVM supports them, the number of threads can be in the thousands.
+   * The producers share a bounded number of pipeline runners.
+   */
+  VIRTUAL_THREADS("Virtual Threads"),
+  ;
+
+  private final String label;
+
+  ProducerExecutionMode(String label) {
+    this.label = label;
+  }
+
+  @Override
+  public String getLabel() {
+    return label;
+  }
+
+}
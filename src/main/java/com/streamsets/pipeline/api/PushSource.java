@@ -18,6 +18,7 @@ package com.streamsets.pipeline.api;
 import com.streamsets.pipeline.api.gateway.GatewayInfo;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A <code>PushSource</code> is a type of Data Collector origin stage that consumes or listen for incoming data and
@@ -88,6 +89,30 @@ public interface PushSource extends ProtoSource<PushSource.Context> {
      */
     public boolean processBatch(BatchContext batchContext, String entityName, String entityOffset);
 
+    /**
+     * Process given batch asynchronously - run it through rest of the pipeline while the calling thread continues
+     * reading and parsing the next batch. The returned future completes with true if and only if the data reached
+     * all destinations properly, otherwise with false.
+     *
+     * The call blocks while the futures of {@link PushSource#getMaxBatchesInFlight()} batches submitted by the calling
+     * thread have not completed yet, this is the only bound on the batches a thread has in flight. The futures of the
+     * batches of a thread can complete in any order, not necessarily the order the batches were submitted in.
+     *
+     * This method is thread safe.
+     *
+     * This method will not commit any offsets, see {@link com.streamsets.pipeline.api.base.AsyncBatchSubmitter} to
+     * commit offsets in the order the batches were submitted in.
+     *
+     * This implementation calls processBatch(BatchContext) and returns a completed future, Data Collector versions
+     * supporting asynchronous processing override it.
+     *
+     * @param batchContext Batch to be passed to the pipeline.
+     * @return future completing with true if and only if the batch has reached all destinations
+     */
+    public default CompletableFuture<Boolean> processBatchAsync(BatchContext batchContext) {
+      return CompletableFuture.completedFuture(processBatch(batchContext));
+    }
+
     /**
      * Registers offset for given origin driven entity.
      *
@@ -136,6 +161,35 @@ public interface PushSource extends ProtoSource<PushSource.Context> {
    */
   public int getNumberOfThreads();
 
+  /**
+   * Returns the maximum number of batches that each thread can have in flight with
+   * {@link Context#processBatchAsync(BatchContext)}, the batches being processed by the pipeline while the thread
+   * reads the next one. See {@link Context#processBatchAsync(BatchContext)} for how it is enforced.
+   *
+   * This implementation returns 1.
+   *
+   * @return Maximum number of batches in flight per thread
+   */
+  public default int getMaxBatchesInFlight() {
+    return 1;
+  }
+
+  /**
+   * Returns the execution mode of the producer threads.
+   *
+   * With {@link ProducerExecutionMode#VIRTUAL_THREADS} the number of threads returned by {@link #getNumberOfThreads()}
+   * can be much larger than the number of pipeline runners, the producers block in {@link Context#processBatch} until
+   * a runner is available. The producers should then be run with
+   * {@link com.streamsets.pipeline.api.base.ProducerExecutors#create(ProducerExecutionMode, String)}.
+   *
+   * This implementation returns {@link ProducerExecutionMode#PLATFORM_THREADS}.
+   *
+   * @return Execution mode of the producer threads
+   */
+  public default ProducerExecutionMode getProducerExecutionMode() {
+    return ProducerExecutionMode.PLATFORM_THREADS;
+  }
+
   /**
    * When a pipeline is initialized and prepared to run, the Data Collector calls this method to start the Source.
    *
@@ -53,7 +53,8 @@ import java.util.Set;
  * </ul>
  * Using field-path expressions is possible to check for existence, access, modify and delete a <code>Field</code> data
  * structure. The {@link #get(String)}, {@link #has(String)}, {@link #delete(String)} and {@link #getEscapedFieldPaths()}
- * methods work using field- path expressions.
+ * methods work using field- path expressions. Stages accessing the same field-paths for every record should parse them
+ * once into {@link FieldPath} instances and use the corresponding overloads.
  * <p/>
  * <b>IMPORTANT:</b> Map key names that are not a word or use any of the following 3 special
  * characters '<code>/</code>', '<code>[</code>' or '<code>]</code>' must be single-quoted or double-quoted, for
@@ -263,6 +264,21 @@ public interface Record {
    */
   public Field get(String fieldPath);
 
+  /**
+   * Returns the <code>Field</code> at the specified parsed field-path.
+   * <p/>
+   * The default implementation walks the field tree from the root field, without going through the string
+   * field-path.
+   *
+   * @param fieldPath field-path of the <code>Field</code> to retrieve.
+   * @return the <code>Field</code> at the specified field-path, or <code>NULL</code> if none.
+   *
+   * @see FieldPath
+   */
+  public default Field get(FieldPath fieldPath) {
+    return fieldPath.get(get());
+  }
+
   /**
    * Deletes the <code>Field</code> at the specified field-path.
    *
@@ -273,6 +289,18 @@ public interface Record {
    */
   public Field delete(String fieldPath);
 
+  /**
+   * Deletes the <code>Field</code> at the specified parsed field-path.
+   *
+   * @param fieldPath field-path of the <code>Field</code> to delete.
+   * @return the deleted <code>Field</code>, or <code>NULL</code> if none.
+   *
+   * @see FieldPath
+   */
+  public default Field delete(FieldPath fieldPath) {
+    return fieldPath.delete(this);
+  }
+
   /**
    * Indicates if the specified field-path has a <code>Field</code> or not.
    *
@@ -281,6 +309,16 @@ public interface Record {
    */
   public boolean has(String fieldPath);
 
+  /**
+   * Indicates if the specified parsed field-path has a <code>Field</code> or not.
+   *
+   * @param fieldPath field-path of the <code>Field</code> to check for existence.
+   * @return if the specified field-path has a <code>Field</code> or not.
+   */
+  public default boolean has(FieldPath fieldPath) {
+    return fieldPath.has(this);
+  }
+
   /**
    * Returns all available field-paths in the record. This method is deprecated, and {@link #getEscapedFieldPaths()}
    * should be used instead.
@@ -321,6 +359,20 @@ public interface Record {
    */
   public Field set(String fieldPath, Field newField);
 
+  /**
+   * Sets a <code>Field</code> in the specified parsed field-path.
+   * <p/>
+   * The field-path parent must exist.
+   *
+   * @param fieldPath the field-path to set the <code>Field</code>.
+   * @param newField the <code>Field</code> to set.
+   * @return the <code>Field</code> being replaced at the specified field-path, or <code>NULL</code> if none.
+   * @throws IllegalArgumentException if the field-path parent does not exist.
+   */
+  public default Field set(FieldPath fieldPath, Field newField) {
+    return fieldPath.set(this, newField);
+  }
+
   /**
    * Call given visitor for each field in this record.
    *
@@ -328,4 +380,18 @@ public interface Record {
    */
   public void forEachField(FieldVisitor visitor) throws StageException;
 
+  /**
+   * Call given visitor for each field in this record that matches the given filter.
+   * <p/>
+   * Subtrees that cannot match the filter are not walked. The <code>RecordField</code> given to the visitor is only
+   * valid during the call. The visitor can modify the visited fields, the collections shared with the record this
+   * record was cloned from are copied on the way to them, see {@link FieldFilter}.
+   *
+   * @param filter Filter of the fields to visit.
+   * @param visitor Visitor that will be called for each matching field of the record.
+   */
+  public default void forEachField(FieldFilter filter, FieldVisitor visitor) throws StageException {
+    filter.visit(this, visitor);
+  }
+
 }
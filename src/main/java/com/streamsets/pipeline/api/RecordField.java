@@ -32,6 +32,7 @@ public interface RecordField {
    * Few examples:
    * * For /map/inner, the name will be 'inner'
    * * For /list[2], the name will be only 'list' (e.g. the list name)
+   * * For /map/'a/b', the name will be a/b (e.g. unquoted and unescaped)
    *
    * @return String name or null if the cursor is invalid.
    */
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.streamsets.pipeline.api.Stage;
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Adapts the size of the batches produced by a source to a target latency, to be consulted on every produce cycle.
+ * <p/>
+ * The size starts at the minimum and moves towards the number of records that the pipeline processes within the
+ * target latency, at most doubling or halving on each batch. The latency of a batch is the time from the end of its
+ * produce call, {@link #batchProduced(int)}, to its completion, {@link Stage.Context#getLastBatchTime()}. Sources
+ * measuring the latency themselves, like a <code>PushSource</code> timing <code>processBatch</code>, report it with
+ * {@link #batchProcessed(int, long)} instead.
+ * <p/>
+ * The size is halved while the free heap is below the minimum headroom, and it is capped by the backlog when the
+ * source knows it, {@link #setBacklog(long)}.
+ * <p/>
+ * An instance is used by a single thread.
+ */
+public final class AdaptiveBatchSize {
+  // weight of the latest batch in the per record latency average
+  private static final double SMOOTHING = 0.5;
+
+  private final Stage.Context context;
+  private final int minBatchSize;
+  private final int maxBatchSize;
+  private final long targetLatencyMillis;
+  private final double minMemoryHeadroom;
+  private final DoubleSupplier memoryHeadroom;
+  private int batchSize;
+  private double recordLatencyMillis;
+  private long backlog = -1;
+  private long producedAt;
+  private int producedRecords;
+
+  /**
+   * Creates an adaptive batch size.
+   *
+   * @param context the stage context.
+   * @param minBatchSize the minimum batch size.
+   * @param maxBatchSize the maximum batch size.
+   * @param targetLatencyMillis the target latency of a batch.
+   * @param minMemoryHeadroom the fraction of the maximum heap, between <code>0</code> and <code>1</code>, that must be
+   *                          free for the size not to be reduced.
+   */
+  public AdaptiveBatchSize(
+      Stage.Context context,
+      int minBatchSize,
+      int maxBatchSize,
+      long targetLatencyMillis,
+      double minMemoryHeadroom
+  ) {
+    this(context, minBatchSize, maxBatchSize, targetLatencyMillis, minMemoryHeadroom, AdaptiveBatchSize::freeHeap);
+  }
+
+  AdaptiveBatchSize(
+      Stage.Context context,
+      int minBatchSize,
+      int maxBatchSize,
+      long targetLatencyMillis,
+      double minMemoryHeadroom,
+      DoubleSupplier memoryHeadroom
+  ) {
+    Utils.checkArgument(minBatchSize > 0, Utils.formatL("minBatchSize '{}' must be greater than zero", minBatchSize));
+    Utils.checkArgument(
+        maxBatchSize >= minBatchSize,
+        Utils.formatL("maxBatchSize '{}' cannot be less than minBatchSize '{}'", maxBatchSize, minBatchSize)
+    );
+    Utils.checkArgument(
+        targetLatencyMillis > 0,
+        Utils.formatL("targetLatencyMillis '{}' must be greater than zero", targetLatencyMillis)
+    );
+    Utils.checkArgument(
+        minMemoryHeadroom >= 0 && minMemoryHeadroom < 1,
+        Utils.formatL("minMemoryHeadroom '{}' must be between 0 and 1", minMemoryHeadroom)
+    );
+    this.context = Utils.checkNotNull(context, "context");
+    this.minBatchSize = minBatchSize;
+    this.maxBatchSize = maxBatchSize;
+    this.targetLatencyMillis = targetLatencyMillis;
+    this.minMemoryHeadroom = minMemoryHeadroom;
+    this.memoryHeadroom = memoryHeadroom;
+    batchSize = minBatchSize;
+  }
+
+  private static double freeHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    long used = runtime.totalMemory() - runtime.freeMemory();
+    return 1 - (double) used / runtime.maxMemory();
+  }
+
+  /**
+   * Returns the size of the next batch, to be called at the beginning of each produce cycle.
+   *
+   * @param maxBatchSize the maximum batch size given to the produce call.
+   * @return the size of the next batch, never greater than <code>maxBatchSize</code>.
+   */
+  public int nextBatchSize(int maxBatchSize) {
+    if (producedAt > 0) {
+      long lastBatchTime = context.getLastBatchTime();
+      if (lastBatchTime >= producedAt) {
+        batchProcessed(producedRecords, lastBatchTime - producedAt);
+      }
+      producedAt = 0;
+    }
+    if (memoryHeadroom.getAsDouble() < minMemoryHeadroom) {
+      batchSize = Math.max(minBatchSize, batchSize / 2);
+    }
+    int size = batchSize;
+    if (backlog >= 0 && backlog < size) {
+      size = (int) Math.max(minBatchSize, backlog);
+    }
+    return Math.max(1, Math.min(size, maxBatchSize));
+  }
+
+  /**
+   * Records the end of a produce call, its latency is computed on the next call to {@link #nextBatchSize(int)}.
+   *
+   * @param records the number of records produced.
+   */
+  public void batchProduced(int records) {
+    producedAt = System.currentTimeMillis();
+    producedRecords = records;
+  }
+
+  /**
+   * Records the latency of a batch.
+   *
+   * @param records the number of records of the batch.
+   * @param latencyMillis the time the pipeline took to process the batch.
+   */
+  public void batchProcessed(int records, long latencyMillis) {
+    if (records <= 0) {
+      return;
+    }
+    double latency = (double) Math.max(1, latencyMillis) / records;
+    recordLatencyMillis = (recordLatencyMillis == 0)
+        ? latency
+        : SMOOTHING * latency + (1 - SMOOTHING) * recordLatencyMillis;
+    double target = targetLatencyMillis / recordLatencyMillis;
+    target = Math.min(Math.max(target, batchSize / 2.0), batchSize * 2.0);
+    batchSize = (int) Math.min(Math.max(target, minBatchSize), maxBatchSize);
+  }
+
+  /**
+   * Sets the number of records the source knows to be pending, <code>-1</code> if unknown.
+   *
+   * @param backlog the number of records pending.
+   */
+  public void setBacklog(long backlog) {
+    this.backlog = backlog;
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.streamsets.pipeline.api.BatchContext;
+import com.streamsets.pipeline.api.DeliveryGuarantee;
+import com.streamsets.pipeline.api.PushSource;
+import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Submits the batches of one <code>PushSource</code> thread with
+ * {@link PushSource.Context#processBatchAsync(BatchContext)} and commits their offsets in the order the batches were
+ * submitted, per the pipeline delivery guarantee.
+ * <p/>
+ * The number of batches in flight is bounded by <code>processBatchAsync()</code> itself, see its blocking and ordering
+ * contract, the submitter does not add a limit of its own. It keeps the batches that completed before older ones
+ * until the older ones complete and their offsets can be committed.
+ * <p/>
+ * With <code>AT_LEAST_ONCE</code> the offset of a batch is committed once the batch and all the batches submitted
+ * before it have reached all destinations. Once a batch fails, no further offset is committed by the submitter, the
+ * source is expected to stop or to resume from the last committed offsets with a new submitter. With
+ * <code>AT_MOST_ONCE</code> the offset of a batch is committed when the batch is submitted.
+ * <p/>
+ * A submitter is used by a single thread, each thread of a multithreaded source must have its own.
+ */
+public final class AsyncBatchSubmitter {
+
+  private static final class InFlightBatch {
+    private final CompletableFuture<Boolean> future;
+    private final String entityName;
+    private final String entityOffset;
+
+    private InFlightBatch(CompletableFuture<Boolean> future, String entityName, String entityOffset) {
+      this.future = future;
+      this.entityName = entityName;
+      this.entityOffset = entityOffset;
+    }
+  }
+
+  private final PushSource.Context context;
+  private final boolean atLeastOnce;
+  private final Deque<InFlightBatch> inFlight;
+  private boolean failed;
+
+  /**
+   * Creates a submitter.
+   *
+   * @param context the source context.
+   */
+  public AsyncBatchSubmitter(PushSource.Context context) {
+    this.context = Utils.checkNotNull(context, "context");
+    this.atLeastOnce = context.getDeliveryGuarantee() != DeliveryGuarantee.AT_MOST_ONCE;
+    this.inFlight = new ArrayDeque<>();
+  }
+
+  /**
+   * Submits a batch, blocking as {@link PushSource.Context#processBatchAsync(BatchContext)} does, and commits the
+   * offsets of the oldest batches that have completed.
+   *
+   * @param batchContext Batch to be passed to the pipeline.
+   * @param entityName Name of the origin driven entity (file name, topic name, ...). Can't be NULL.
+   * @param entityOffset String representation of the offset for given entity once the batch has been processed. Null
+   *                     value will remove the entity from tracking structures.
+   * @throws StageException if interrupted while waiting, or if the processing of a batch failed with an exception.
+   */
+  public void submit(BatchContext batchContext, String entityName, String entityOffset) throws StageException {
+    Utils.checkNotNull(entityName, "entityName");
+    if (!atLeastOnce) {
+      context.commitOffset(entityName, entityOffset);
+    }
+    inFlight.add(new InFlightBatch(context.processBatchAsync(batchContext), entityName, entityOffset));
+    while (!inFlight.isEmpty() && inFlight.peek().future.isDone()) {
+      completeOldest();
+    }
+  }
+
+  /**
+   * Waits for all the batches in flight to complete, committing their offsets.
+   *
+   * @return true if and only if all the batches submitted so far have reached all destinations.
+   * @throws StageException if interrupted while waiting, or if the processing of a batch failed with an exception.
+   */
+  public boolean awaitAll() throws StageException {
+    while (!inFlight.isEmpty()) {
+      completeOldest();
+    }
+    return !failed;
+  }
+
+  /**
+   * Returns the number of batches in flight.
+   *
+   * @return the number of batches submitted whose completion has not been handled yet, including the batches that
+   * completed before an older one.
+   */
+  public int getInFlight() {
+    return inFlight.size();
+  }
+
+  /**
+   * Indicates if any of the batches submitted so far did not reach all destinations.
+   *
+   * @return true if a batch failed, no further offsets are committed then.
+   */
+  public boolean hasFailed() {
+    return failed;
+  }
+
+  private void completeOldest() throws StageException {
+    InFlightBatch batch = inFlight.peek();
+    boolean processed;
+    try {
+      processed = batch.future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new StageException(Errors.API_29, ex);
+    } catch (ExecutionException ex) {
+      inFlight.poll();
+      failed = true;
+      throw new StageException(Errors.API_30, ex.getCause().toString(), ex.getCause());
+    }
+    inFlight.poll();
+    if (!processed) {
+      failed = true;
+    } else if (atLeastOnce && !failed) {
+      context.commitOffset(batch.entityName, batch.entityOffset);
+    }
+  }
+
+}
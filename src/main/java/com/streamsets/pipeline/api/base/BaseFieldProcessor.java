@@ -17,17 +17,105 @@ package com.streamsets.pipeline.api.base;
 
 import com.streamsets.pipeline.api.Batch;
 import com.streamsets.pipeline.api.BatchMaker;
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.FieldBatch;
 import com.streamsets.pipeline.api.FieldProcessor;
 import com.streamsets.pipeline.api.Record;
 import com.streamsets.pipeline.api.StageException;
-import com.streamsets.pipeline.api.impl.RecordBasedFieldBatch;
+import com.streamsets.pipeline.api.impl.MultiRecordFieldBatch;
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Field processor implementation providing empty Data Collector lifecycle methods and convenience methods for subclasses.
+ * <p/>
+ * All the fields of all the records of a batch are given to a single {@link #process(FieldBatch)} call, the records are
+ * then written to the single output stream.
  */
 public abstract class BaseFieldProcessor extends BaseProcessor implements FieldProcessor  {
+  private final List<Record> records = new ArrayList<>();
+  private final BitSet failed = new BitSet();
+  private MultiRecordFieldBatch fieldBatch;
+
+  /**
+   * Returns the types of the fields given to {@link #process(FieldBatch)}. The fields within <code>MAP</code>,
+   * <code>LIST</code> and <code>LIST_MAP</code> fields are visited even if those types are not returned.
+   * <p/>
+   * This implementation returns <code>null</code>, all the fields are visited. It is called once, on the first batch.
+   *
+   * @return the types of the fields to visit, <code>null</code> for all the fields.
+   */
+  protected Set<Field.Type> getFieldTypes() {
+    return null;
+  }
+
+  /**
+   * Processes the batch by calling the {@link #process(FieldBatch)} method with a field batch visiting the fields of
+   * all the records in the batch, then writes the records to the output stream.
+   * <p/>
+   * If {@link #process(FieldBatch)} throws an {@link OnRecordErrorException}, the error handling for the record being
+   * visited is done based on the stage 'on record error' configuration, discarded, sent to error, or stopping the
+   * pipeline. On discard or send to error, {@link #process(FieldBatch)} is called again to continue with the next
+   * record.
+   *
+   * @param batch the batch of records to process.
+   * @param batchMaker records created by the <code>Processor</code> stage must be added to the <code>BatchMaker</code>
+   * for them to be available to the rest of the pipeline.
+   * @throws StageException if the <code>Processor</code> had an error while processing records.
+   */
   @Override
   public void process(Batch batch, BatchMaker batchMaker) throws StageException {
-    throw new UnsupportedOperationException();
+    Iterator<Record> it = batch.getRecords();
+    while (it.hasNext()) {
+      records.add(it.next());
+    }
+    if (fieldBatch == null) {
+      fieldBatch = new MultiRecordFieldBatch(records, getFieldTypes());
+    } else {
+      fieldBatch.reset(records);
+    }
+    try {
+      boolean done = false;
+      while (!done) {
+        try {
+          process(fieldBatch);
+          done = true;
+        } catch (OnRecordErrorException ex) {
+          int index = fieldBatch.getRecordIndex();
+          if (index < 0 || index >= records.size()) {
+            throw ex;
+          }
+          switch (getContext().getOnErrorRecord()) {
+            case DISCARD:
+              break;
+            case TO_ERROR:
+              getContext().toError(records.get(index), ex);
+              break;
+            case STOP_PIPELINE:
+              throw ex;
+            default:
+              throw new IllegalStateException(Utils.format("It should never happen. OnError '{}'",
+                                                           getContext().getOnErrorRecord(), ex));
+          }
+          failed.set(index);
+          fieldBatch.skipRecord();
+        }
+      }
+      for (int i = 0; i < records.size(); i++) {
+        if (!failed.get(i)) {
+          batchMaker.addRecord(records.get(i));
+        }
+      }
+    } finally {
+      fieldBatch.clear();
+      records.clear();
+      failed.clear();
+    }
   }
+
 }
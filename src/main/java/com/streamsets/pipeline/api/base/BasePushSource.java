@@ -17,8 +17,31 @@ package com.streamsets.pipeline.api.base;
 
 import com.streamsets.pipeline.api.PushSource;
 
+import java.util.concurrent.ExecutorService;
+
 /**
  * Push Source implementation providing empty Data Collector lifecycle methods and convenience methods for subclasses.
  */
 public abstract class BasePushSource extends BaseStage<PushSource.Context> implements PushSource {
+
+  /**
+   * Creates a submitter of batches for the calling thread, committing their offsets in order. The batches in flight
+   * are bounded by {@link #getMaxBatchesInFlight()}, see {@link PushSource.Context#processBatchAsync}.
+   *
+   * @return a new submitter, to be used by the calling thread only.
+   */
+  protected AsyncBatchSubmitter createBatchSubmitter() {
+    return new AsyncBatchSubmitter(getContext());
+  }
+
+  /**
+   * Creates an executor to run the {@link #getNumberOfThreads()} producers of the source per
+   * {@link #getProducerExecutionMode()}. The executor must be shut down by the source.
+   *
+   * @return a new executor running each producer in its own thread.
+   */
+  protected ExecutorService createProducerExecutor() {
+    return ProducerExecutors.create(getProducerExecutionMode(), getInfo().getInstanceName() + "-producer-");
+  }
+
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.streamsets.pipeline.api.Batch;
+import com.streamsets.pipeline.api.Record;
+import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The <code>ChunkedRecordTarget</code> is an convenience {@link com.streamsets.pipeline.api.Target} that writes the
+ * records of a batch in chunks bounded in number of records and in bytes, for destinations with bulk writes, and has
+ * a built-in record error handling for the stage 'on record error' configuration.
+ */
+public abstract class ChunkedRecordTarget extends BaseTarget {
+  private static final int MAX_INITIAL_CAPACITY = 1024;
+
+  /**
+   * Returns the maximum number of records of a chunk.
+   * <p/>
+   * This implementation returns <code>1000</code>.
+   *
+   * @return the maximum number of records of a chunk.
+   */
+  protected int getMaxChunkRecords() {
+    return 1000;
+  }
+
+  /**
+   * Returns the maximum size in bytes of a chunk, as the sum of {@link #getRecordSize(Record)} of its records. A record
+   * bigger than the maximum is written in a chunk of its own.
+   * <p/>
+   * This implementation returns <code>Long.MAX_VALUE</code>, chunks are only bounded in number of records.
+   *
+   * @return the maximum size in bytes of a chunk.
+   */
+  protected long getMaxChunkBytes() {
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * Returns the size in bytes of the given record once written, it can be an estimate. It is only called if
+   * {@link #getMaxChunkBytes()} is not <code>Long.MAX_VALUE</code>.
+   * <p/>
+   * This implementation returns <code>0</code>.
+   *
+   * @param record the record.
+   * @return the size in bytes of the record.
+   */
+  protected long getRecordSize(Record record) {
+    return 0;
+  }
+
+  /**
+   * Writes the batch by calling the {@link #write(List)} method for each chunk of records of the batch, in order.
+   * <p/>
+   * The records that {@link #write(List)} could not write are handled based on the stage 'on record error'
+   * configuration, discarded, sent to error, or stopping the pipeline.
+   *
+   * @param batch the batch of records to write.
+   * @throws StageException if the <code>Target</code> had an error while writing records.
+   */
+  @Override
+  public void write(Batch batch) throws StageException {
+    Iterator<Record> it = batch.getRecords();
+    if (it.hasNext()) {
+      int maxRecords = getMaxChunkRecords();
+      long maxBytes = getMaxChunkBytes();
+      Utils.checkState(maxRecords > 0, Utils.formatL("Max chunk records '{}' must be greater than zero", maxRecords));
+      Utils.checkState(maxBytes > 0, Utils.formatL("Max chunk bytes '{}' must be greater than zero", maxBytes));
+      List<Record> chunk = new ArrayList<>(Math.min(maxRecords, MAX_INITIAL_CAPACITY));
+      long chunkBytes = 0;
+      while (it.hasNext()) {
+        Record record = it.next();
+        long size = (maxBytes == Long.MAX_VALUE) ? 0 : getRecordSize(record);
+        if (!chunk.isEmpty() && (chunk.size() == maxRecords || chunkBytes + size > maxBytes)) {
+          writeChunk(chunk);
+          chunk.clear();
+          chunkBytes = 0;
+        }
+        chunk.add(record);
+        chunkBytes += size;
+      }
+      writeChunk(chunk);
+    } else {
+      emptyBatch();
+    }
+  }
+
+  private void writeChunk(List<Record> chunk) throws StageException {
+    List<OnRecordErrorException> errors;
+    try {
+      errors = write(Collections.unmodifiableList(chunk));
+    } catch (OnRecordErrorException ex) {
+      for (Record record : chunk) {
+        handleError(record, ex);
+      }
+      return;
+    }
+    if (errors != null) {
+      for (OnRecordErrorException ex : errors) {
+        Utils.checkState(ex.getRecord() != null, "The OnRecordErrorException of a chunk must have their record");
+        handleError(ex.getRecord(), ex);
+      }
+    }
+  }
+
+  private void handleError(Record record, OnRecordErrorException ex) throws StageException {
+    switch (getContext().getOnErrorRecord()) {
+      case DISCARD:
+        break;
+      case TO_ERROR:
+        getContext().toError(record, ex);
+        break;
+      case STOP_PIPELINE:
+        throw ex;
+      default:
+        throw new IllegalStateException(Utils.format("It should never happen. OnError '{}'",
+                                                     getContext().getOnErrorRecord(), ex));
+    }
+  }
+
+  /**
+   * Writes one chunk of records.
+   * <p/>
+   * The records that could not be written are returned, each as an {@link OnRecordErrorException} created with the
+   * record, they are handled in the returned order. Throwing an {@link OnRecordErrorException} fails all the records
+   * of the chunk. The list of records is only valid during the call.
+   *
+   * @param records the records to write, at least one.
+   * @return the errors of the records that could not be written, <code>NULL</code> or an empty list if none.
+   * @throws StageException if the <code>Target</code> had an error while writing records.
+   * @throws OnRecordErrorException if none of the records could be written. The handling of this exception will be
+   * base on the stage 'on record error' configuration
+   */
+  protected abstract List<OnRecordErrorException> write(List<Record> records) throws StageException;
+
+  /**
+   * Called if the batch to write does not have any records to allow the <code>ChunkedRecordTarget</code> to do a
+   * special handling in those situations.
+   * <p/>
+   * This implementation is a no-operation.
+   *
+   * @throws StageException
+   */
+  protected void emptyBatch() throws StageException {
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import com.streamsets.pipeline.api.Record;
+import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.Target;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the records of a batch concurrently for {@link RecordTarget}, with at most a given number of writes in
+ * flight.
+ * <p/>
+ * Every record is written by its own task of a fixed size thread pool, the exception each write throws is kept. Once
+ * all the writes have finished the errors are handled in the order of the records in the batch.
+ */
+final class ConcurrentRecordWrites {
+  static final String IN_FLIGHT_COUNTER = "Record Writes In Flight";
+  static final String LATENCY_TIMER = "Record Write Latency";
+
+  /**
+   * Writes one record.
+   */
+  interface RecordWrite {
+    void write(Record record) throws StageException;
+  }
+
+  private final ExecutorService executor;
+  private final Counter inFlight;
+  private final Timer latency;
+
+  ConcurrentRecordWrites(int maxInFlight, Counter inFlight, Timer latency) {
+    final AtomicInteger threads = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(maxInFlight, runnable -> {
+      Thread thread = new Thread(runnable, "RecordTarget-write-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.inFlight = inFlight;
+    this.latency = latency;
+  }
+
+  /**
+   * Writes the records concurrently, waits for all the writes to finish and handles their errors in order.
+   */
+  void write(Iterator<Record> it, RecordWrite write, Target.Context context, RecordMetrics metrics)
+      throws StageException {
+    List<Record> records = new ArrayList<>();
+    List<Future<Throwable>> futures = new ArrayList<>();
+    while (it.hasNext()) {
+      final Record record = it.next();
+      records.add(record);
+      futures.add(executor.submit(() -> {
+        inFlight.inc();
+        Timer.Context timer = latency.time();
+        try {
+          write.write(record);
+          return null;
+        } catch (Throwable ex) {
+          return ex;
+        } finally {
+          timer.stop();
+          inFlight.dec();
+        }
+      }));
+    }
+    List<Throwable> errors = new ArrayList<>(futures.size());
+    try {
+      for (Future<Throwable> future : futures) {
+        errors.add(future.get());
+      }
+    } catch (InterruptedException ex) {
+      for (Future<Throwable> future : futures) {
+        future.cancel(true);
+      }
+      Thread.currentThread().interrupt();
+      throw new StageException(Errors.API_33, ex);
+    } catch (ExecutionException ex) {
+      throw new StageException(Errors.API_28, ex.getCause().toString(), ex.getCause());
+    }
+    for (int i = 0; i < records.size(); i++) {
+      ParallelRecordProcessing.handleError(records.get(i), errors.get(i), context, metrics);
+    }
+  }
+
+  void destroy() {
+    executor.shutdownNow();
+  }
+
+}
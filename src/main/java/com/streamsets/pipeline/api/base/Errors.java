@@ -57,6 +57,14 @@ public enum Errors implements ErrorCode {
   API_26("Cannot parse '{}' to a ZonedDateTime. " +
       "Use ISO 8601 format with offset and zone, such as '2011-12-03T10:15:30+01:00[Europe/Paris]'"),
 
+  API_27("Interrupted while processing records in parallel"),
+  API_28("Error while processing records in parallel: {}"),
+  API_29("Interrupted while waiting for batches in flight"),
+  API_30("Error while processing batch in flight: {}"),
+  API_31("Could not obtain cluster source within {} ms"),
+  API_32("Interrupted while waiting for cluster source"),
+  API_33("Interrupted while writing records concurrently"),
+
   ;
 
   private final String msg;
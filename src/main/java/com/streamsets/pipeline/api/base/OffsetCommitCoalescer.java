@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
+import com.streamsets.pipeline.api.DeliveryGuarantee;
+import com.streamsets.pipeline.api.PushSource;
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the offset commits of a <code>PushSource</code>, keeping only the latest offset of each entity until a
+ * flush, which happens once a given number of entities have a pending offset or a given time has elapsed since the
+ * last flush.
+ * <p/>
+ * A flush still calls {@link PushSource.Context#commitOffset(String, String)} once per entity with a pending offset:
+ * the only saving is the deduplication of the commits of the same entity, a source committing a different entity on
+ * every batch gains nothing.
+ * <p/>
+ * With <code>AT_LEAST_ONCE</code> the batches are processed with
+ * {@link PushSource.Context#processBatch(com.streamsets.pipeline.api.BatchContext)}, which does not commit offsets,
+ * and their offset is passed to {@link #commitOffset(String, String)} once processed. It is persisted by the next
+ * flush at the latest, the batches processed since the last flush are read again after a failure.
+ * <p/>
+ * With <code>AT_MOST_ONCE</code> the offset of a batch is passed to {@link #commitOffset(String, String)} before the
+ * batch is processed, and it is committed right away, so commits are not coalesced.
+ * <p/>
+ * The policy is evaluated on each commit, a source with no new data should call {@link #flushIfDue()} periodically,
+ * and {@link #flush()} when it stops. A coalescer can be shared by the threads of a multithreaded source.
+ */
+public final class OffsetCommitCoalescer {
+  static final String LATENCY_TIMER = "Offset Commit Latency";
+  static final String REQUESTED_COUNTER = "Offset Commits Requested";
+  static final String PERSISTED_COUNTER = "Offset Commits Persisted";
+  static final String COALESCING_GAUGE = "Offset Commit Coalescing";
+  static final String COALESCING_RATIO = "Coalescing Ratio";
+
+  private final PushSource.Context context;
+  private final boolean atMostOnce;
+  private final int maxPending;
+  private final long maxDelayNanos;
+  private final Map<String, String> pending;
+  private final Timer latency;
+  private final Counter requested;
+  private final Counter persisted;
+  private final Gauge<Map<String, Object>> coalescing;
+  private long lastFlush;
+
+  /**
+   * Creates a coalescer.
+   *
+   * @param context the source context.
+   * @param maxPending the number of entities with a pending offset triggering a flush, <code>1</code> commits every
+   *                   offset right away.
+   * @param maxDelayMillis the time since the last flush triggering a flush.
+   */
+  public OffsetCommitCoalescer(PushSource.Context context, int maxPending, long maxDelayMillis) {
+    Utils.checkArgument(maxPending > 0, Utils.formatL("maxPending '{}' must be greater than zero", maxPending));
+    Utils.checkArgument(maxDelayMillis >= 0, Utils.formatL("maxDelayMillis '{}' cannot be negative", maxDelayMillis));
+    this.context = Utils.checkNotNull(context, "context");
+    this.atMostOnce = context.getDeliveryGuarantee() == DeliveryGuarantee.AT_MOST_ONCE;
+    this.maxPending = maxPending;
+    this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    pending = new LinkedHashMap<>();
+    latency = context.createTimer(LATENCY_TIMER);
+    requested = context.createCounter(REQUESTED_COUNTER);
+    persisted = context.createCounter(PERSISTED_COUNTER);
+    coalescing = context.createGauge(COALESCING_GAUGE);
+    lastFlush = System.nanoTime();
+  }
+
+  /**
+   * Registers the offset of an entity, replacing its pending offset if any.
+   *
+   * @param entityName Name of the origin driven entity (file name, topic name, ...). Can't be NULL.
+   * @param entityOffset String representation of the offset for given entity. Null value will remove the entity
+   *                     from tracking structures.
+   */
+  public synchronized void commitOffset(String entityName, String entityOffset) {
+    Utils.checkNotNull(entityName, "entityName");
+    requested.inc();
+    pending.put(entityName, entityOffset);
+    if (atMostOnce || pending.size() >= maxPending) {
+      flush();
+    } else {
+      flushIfDue();
+    }
+  }
+
+  /**
+   * Commits the pending offsets if the time since the last flush has elapsed.
+   */
+  public synchronized void flushIfDue() {
+    if (!pending.isEmpty() && System.nanoTime() - lastFlush >= maxDelayNanos) {
+      flush();
+    }
+  }
+
+  /**
+   * Commits the pending offsets, one {@link PushSource.Context#commitOffset(String, String)} call per entity.
+   */
+  public synchronized void flush() {
+    lastFlush = System.nanoTime();
+    if (pending.isEmpty()) {
+      return;
+    }
+    try (Timer.Context ignored = latency.time()) {
+      for (Map.Entry<String, String> entry : pending.entrySet()) {
+        context.commitOffset(entry.getKey(), entry.getValue());
+      }
+    }
+    persisted.inc(pending.size());
+    pending.clear();
+    coalescing.getValue().put(COALESCING_RATIO, (double) requested.getCount() / persisted.getCount());
+  }
+
+  /**
+   * Returns the number of entities with an offset not committed yet.
+   *
+   * @return the number of pending offsets.
+   */
+  public synchronized int getPending() {
+    return pending.size();
+  }
+
+}
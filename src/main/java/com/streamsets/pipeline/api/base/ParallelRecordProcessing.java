@@ -0,0 +1,265 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.streamsets.pipeline.api.BatchMaker;
+import com.streamsets.pipeline.api.Processor;
+import com.streamsets.pipeline.api.Record;
+import com.streamsets.pipeline.api.Stage;
+import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.ToErrorContext;
+import com.streamsets.pipeline.api.impl.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Processes the records of a batch in parallel for {@link RecordProcessor} and {@link SingleLaneRecordProcessor}.
+ * <p/>
+ * The records are split in consecutive chunks processed by the tasks of a bounded <code>ForkJoinPool</code>. The
+ * records each task adds to the batch maker, and the exception processing each record throws, are buffered. Once all
+ * the records have been processed the buffered records are written and the errors are handled in the order of the
+ * records in the batch, the outcome is the same as processing the records sequentially.
+ * <p/>
+ * If the processing thread is interrupted while waiting for the tasks, or a task fails, the processing is cancelled:
+ * the pool threads processing records are interrupted and no further record is processed. Cancelling the
+ * <code>ForkJoinPool</code> futures alone would not do it, as they do not interrupt the running tasks.
+ */
+final class ParallelRecordProcessing {
+  // chunks per thread, more chunks balance the load better at the cost of more tasks
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  /**
+   * Processes one record, writing to the given buffer.
+   */
+  interface RecordTask {
+    void process(Record record, RecordBuffer buffer) throws StageException;
+  }
+
+  /**
+   * Output of the processing of one record, it is both a <code>BatchMaker</code> and a
+   * <code>SingleLaneBatchMaker</code>.
+   */
+  static final class RecordBuffer implements BatchMaker, SingleLaneProcessor.SingleLaneBatchMaker {
+    private static final String[] NO_LANES = new String[0];
+
+    private final List<String> availableLanes;
+    private final Record record;
+    private boolean sampled;
+    private List<Record> records = Collections.emptyList();
+    private List<String[]> lanes = Collections.emptyList();
+    private Throwable error;
+
+    RecordBuffer(List<String> availableLanes, Record record) {
+      this.availableLanes = availableLanes;
+      this.record = record;
+    }
+
+    @Override
+    public List<String> getLanes() {
+      return availableLanes;
+    }
+
+    @Override
+    public void addRecord(Record record) {
+      addRecord(record, NO_LANES);
+    }
+
+    @Override
+    public void addRecord(Record record, String... lanes) {
+      if (records.isEmpty()) {
+        records = new ArrayList<>(2);
+        this.lanes = new ArrayList<>(2);
+      }
+      records.add(record);
+      this.lanes.add(lanes);
+    }
+  }
+
+  /**
+   * Cancellation of the tasks processing one batch, it interrupts the pool threads running them.
+   */
+  private static final class Cancellation {
+    private final Set<Thread> running = new HashSet<>();
+    private volatile boolean cancelled;
+
+    // returns FALSE if the task must not run
+    synchronized boolean begin() {
+      if (cancelled) {
+        return false;
+      }
+      running.add(Thread.currentThread());
+      return true;
+    }
+
+    boolean isCancelled() {
+      return cancelled;
+    }
+
+    // clears the interrupt, if any, so it does not leak to the next task run by the pool thread
+    synchronized void end() {
+      running.remove(Thread.currentThread());
+      Thread.interrupted();
+    }
+
+    synchronized void cancel() {
+      cancelled = true;
+      for (Thread thread : running) {
+        thread.interrupt();
+      }
+    }
+  }
+
+  private final ForkJoinPool pool;
+
+  ParallelRecordProcessing(int parallelism) {
+    pool = new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * Processes the records in parallel, returning the buffered outcome of each record, in order. The records to sample
+   * are chosen by the calling thread, in order, and their latency is recorded by the threads processing them.
+   */
+  List<RecordBuffer> process(Iterator<Record> it, List<String> lanes, RecordMetrics metrics, RecordTask task)
+      throws StageException {
+    final List<RecordBuffer> buffers = new ArrayList<>();
+    while (it.hasNext()) {
+      RecordBuffer buffer = new RecordBuffer(lanes, it.next());
+      buffer.sampled = metrics != null && metrics.sample();
+      buffers.add(buffer);
+    }
+    int chunks = Math.min(buffers.size(), pool.getParallelism() * CHUNKS_PER_THREAD);
+    List<Future<?>> futures = new ArrayList<>(chunks);
+    final Cancellation cancellation = new Cancellation();
+    for (int i = 0; i < chunks; i++) {
+      final List<RecordBuffer> chunk = buffers.subList(
+          (int) ((long) buffers.size() * i / chunks),
+          (int) ((long) buffers.size() * (i + 1) / chunks)
+      );
+      futures.add(pool.submit(() -> {
+        if (!cancellation.begin()) {
+          return;
+        }
+        try {
+          for (RecordBuffer buffer : chunk) {
+            if (cancellation.isCancelled()) {
+              break;
+            }
+            long start = buffer.sampled ? RecordMetrics.startTime() : 0;
+            try {
+              task.process(buffer.record, buffer);
+            } catch (Throwable ex) {
+              buffer.error = ex;
+            } finally {
+              if (start != 0) {
+                metrics.record(start);
+              }
+            }
+          }
+        } finally {
+          cancellation.end();
+        }
+      }));
+    }
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException ex) {
+      cancellation.cancel();
+      Thread.currentThread().interrupt();
+      throw new StageException(Errors.API_27, ex);
+    } catch (ExecutionException ex) {
+      cancellation.cancel();
+      throw new StageException(Errors.API_28, ex.getCause().toString(), ex.getCause());
+    }
+    return buffers;
+  }
+
+  /**
+   * Writes the buffered records of a record to the given batch maker, or handles its error based on the stage
+   * 'on record error' configuration, as the sequential processing does.
+   */
+  static void complete(RecordBuffer buffer, Processor.Context context, RecordMetrics metrics,
+      BatchMaker batchMaker) throws StageException {
+    for (int i = 0; i < buffer.records.size(); i++) {
+      batchMaker.addRecord(buffer.records.get(i), buffer.lanes.get(i));
+    }
+    handleError(buffer.record, buffer.error, context, metrics);
+  }
+
+  /**
+   * Same as {@link #complete(RecordBuffer, Processor.Context, RecordMetrics, BatchMaker)} for a single lane batch
+   * maker.
+   */
+  static void complete(RecordBuffer buffer, Processor.Context context, RecordMetrics metrics,
+      SingleLaneProcessor.SingleLaneBatchMaker batchMaker) throws StageException {
+    for (Record record : buffer.records) {
+      batchMaker.addRecord(record);
+    }
+    handleError(buffer.record, buffer.error, context, metrics);
+  }
+
+  /**
+   * Handles the error, if any, thrown processing the given record in another thread. The
+   * <code>OnRecordErrorException</code> are handled based on the stage 'on record error' configuration, the other
+   * exceptions are rethrown. The record error is counted in the given record metrics, if not <code>NULL</code>.
+   */
+  static <C extends Stage.Context & ToErrorContext> void handleError(Record record, Throwable error, C context,
+      RecordMetrics metrics) throws StageException {
+    if (error == null) {
+      return;
+    }
+    if (error instanceof OnRecordErrorException) {
+      OnRecordErrorException ex = (OnRecordErrorException) error;
+      if (metrics != null) {
+        metrics.error(context.getOnErrorRecord());
+      }
+      switch (context.getOnErrorRecord()) {
+        case DISCARD:
+          break;
+        case TO_ERROR:
+          context.toError(record, ex);
+          break;
+        case STOP_PIPELINE:
+          throw ex;
+        default:
+          throw new IllegalStateException(Utils.format("It should never happen. OnError '{}'",
+                                                       context.getOnErrorRecord(), ex));
+      }
+    } else if (error instanceof StageException) {
+      throw (StageException) error;
+    } else if (error instanceof RuntimeException) {
+      throw (RuntimeException) error;
+    } else if (error instanceof Error) {
+      throw (Error) error;
+    } else {
+      throw new StageException(Errors.API_28, error.toString(), error);
+    }
+  }
+
+  void destroy() {
+    pool.shutdownNow();
+  }
+
+}
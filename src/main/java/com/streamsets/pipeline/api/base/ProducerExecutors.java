@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.streamsets.pipeline.api.ProducerExecutionMode;
+import com.streamsets.pipeline.api.impl.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors running the producers of a multithreaded <code>PushSource</code>, see
+ * {@link com.streamsets.pipeline.api.PushSource#getProducerExecutionMode()}.
+ * <p/>
+ * The virtual threads are looked up by reflection as the API is compiled for Java 8, and probed once by running a task
+ * in a virtual thread: on JDK 19 and 20 they are a preview feature, which fails without <code>--enable-preview</code>.
+ * On a JVM without usable virtual threads the producers run in daemon platform threads with a small stack, one per
+ * producer.
+ */
+public final class ProducerExecutors {
+  private static final Logger LOG = LoggerFactory.getLogger(ProducerExecutors.class);
+
+  static final long FALLBACK_STACK_SIZE = 256 * 1024;
+  private static final long PROBE_TIMEOUT_SECONDS = 10;
+
+  // Thread.ofVirtual(), Thread.Builder.name(String, long), Thread.Builder.factory(),
+  // Executors.newThreadPerTaskExecutor(ThreadFactory), NULL if virtual threads are not available
+  private static final Method[] VIRTUAL_THREAD_METHODS = probeVirtualThreads(lookupVirtualThreadMethods());
+
+  private ProducerExecutors() {
+  }
+
+  private static Method[] lookupVirtualThreadMethods() {
+    try {
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      return new Method[]{
+          Thread.class.getMethod("ofVirtual"),
+          builder.getMethod("name", String.class, long.class),
+          builder.getMethod("factory"),
+          Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+      };
+    } catch (ClassNotFoundException | NoSuchMethodException ex) {
+      return null;
+    }
+  }
+
+  // runs a task in a virtual thread, returns the methods if it worked, NULL otherwise
+  static Method[] probeVirtualThreads(Method[] methods) {
+    if (methods == null) {
+      return null;
+    }
+    try {
+      ExecutorService executor = newVirtualThreadExecutor(methods, "virtual-thread-probe-");
+      try {
+        executor.submit(() -> { }).get(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      } finally {
+        executor.shutdownNow();
+      }
+      return methods;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while probing virtual threads, using platform threads");
+      return null;
+    } catch (Throwable ex) {
+      LOG.info("Virtual threads are not usable, using platform threads: {}", ex.toString(), ex);
+      return null;
+    }
+  }
+
+  private static ExecutorService newVirtualThreadExecutor(Method[] methods, String namePrefix)
+      throws ReflectiveOperationException {
+    Object builder = methods[0].invoke(null);
+    builder = methods[1].invoke(builder, namePrefix, 0L);
+    ThreadFactory factory = (ThreadFactory) methods[2].invoke(builder);
+    return (ExecutorService) methods[3].invoke(null, factory);
+  }
+
+  /**
+   * Indicates if the JVM supports virtual threads, checked once by running a task in a virtual thread.
+   *
+   * @return true if the JVM supports virtual threads (JDK 21 or later, or JDK 19 and 20 with preview features
+   * enabled).
+   */
+  public static boolean isVirtualThreadSupported() {
+    return VIRTUAL_THREAD_METHODS != null;
+  }
+
+  /**
+   * Creates an executor running each submitted producer in its own thread. The executor must be shut down by the
+   * caller.
+   *
+   * @param mode the execution mode of the producers.
+   * @param namePrefix prefix of the thread names, followed by the producer number.
+   * @return the executor.
+   */
+  public static ExecutorService create(ProducerExecutionMode mode, String namePrefix) {
+    Utils.checkNotNull(mode, "mode");
+    Utils.checkNotNull(namePrefix, "namePrefix");
+    switch (mode) {
+      case PLATFORM_THREADS:
+        return createPlatform(namePrefix, 0);
+      case VIRTUAL_THREADS:
+        return isVirtualThreadSupported() ? createVirtual(namePrefix) : createPlatform(namePrefix, FALLBACK_STACK_SIZE);
+      default:
+        throw new IllegalStateException(Utils.format("It should never happen. ProducerExecutionMode '{}'", mode));
+    }
+  }
+
+  private static ExecutorService createVirtual(String namePrefix) {
+    try {
+      return newVirtualThreadExecutor(VIRTUAL_THREAD_METHODS, namePrefix);
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+      LOG.warn("Could not create virtual thread executor, using platform threads: {}", ex.toString(), ex);
+      return createPlatform(namePrefix, FALLBACK_STACK_SIZE);
+    }
+  }
+
+  private static ExecutorService createPlatform(String namePrefix, long stackSize) {
+    AtomicInteger count = new AtomicInteger();
+    ThreadFactory factory = runnable -> {
+      Thread thread = new Thread(null, runnable, namePrefix + count.getAndIncrement(), stackSize);
+      thread.setDaemon(true);
+      return thread;
+    };
+    return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), factory);
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import com.streamsets.pipeline.api.OnRecordError;
+import com.streamsets.pipeline.api.Stage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional record level metrics of {@link RecordProcessor}, {@link SingleLaneRecordProcessor} and
+ * {@link RecordTarget}: the latency of 1 in N records, the record errors by 'on record error' action and the empty
+ * batches.
+ * <p/>
+ * Only the sampled records read the clock, the cost of the other records is an increment and a comparison.
+ */
+final class RecordMetrics {
+  static final String LATENCY_TIMER = "Record Latency";
+  static final String DISCARDED_COUNTER = "Record Errors Discarded";
+  static final String TO_ERROR_COUNTER = "Record Errors To Error";
+  static final String STOP_PIPELINE_COUNTER = "Record Errors Stopping Pipeline";
+  static final String EMPTY_BATCHES_COUNTER = "Empty Batches";
+
+  private final int sampling;
+  private final Timer latency;
+  private final Counter discarded;
+  private final Counter toError;
+  private final Counter stopPipeline;
+  private final Counter emptyBatches;
+  private int count;
+
+  private RecordMetrics(Stage.Context context, int sampling) {
+    this.sampling = sampling;
+    latency = context.createTimer(LATENCY_TIMER);
+    discarded = context.createCounter(DISCARDED_COUNTER);
+    toError = context.createCounter(TO_ERROR_COUNTER);
+    stopPipeline = context.createCounter(STOP_PIPELINE_COUNTER);
+    emptyBatches = context.createCounter(EMPTY_BATCHES_COUNTER);
+  }
+
+  /**
+   * Creates the record metrics of a stage.
+   *
+   * @return the record metrics, <code>NULL</code> if the sampling is <code>0</code>, record metrics are disabled.
+   */
+  static RecordMetrics create(Stage.Context context, int sampling) {
+    return (sampling == 0) ? null : new RecordMetrics(context, sampling);
+  }
+
+  /**
+   * Returns if the next record is sampled. It must only be called by the thread processing the batch.
+   */
+  boolean sample() {
+    if (++count < sampling) {
+      return false;
+    }
+    count = 0;
+    return true;
+  }
+
+  /**
+   * Returns the start time to pass to {@link #record(long)} if the next record is sampled, <code>0</code> otherwise.
+   * It must only be called by the thread processing the batch.
+   */
+  long start() {
+    return sample() ? startTime() : 0;
+  }
+
+  /**
+   * Returns the start time of a sampled record, to pass to {@link #record(long)}. It can be called by any thread.
+   */
+  static long startTime() {
+    // 0 is reserved for the records not sampled
+    return System.nanoTime() | 1;
+  }
+
+  /**
+   * Records the latency of a sampled record, the start time cannot be <code>0</code>. It can be called by any thread.
+   */
+  void record(long start) {
+    latency.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  void error(OnRecordError action) {
+    switch (action) {
+      case DISCARD:
+        discarded.inc();
+        break;
+      case TO_ERROR:
+        toError.inc();
+        break;
+      case STOP_PIPELINE:
+        stopPipeline.inc();
+        break;
+      default:
+        break;
+    }
+  }
+
+  void emptyBatch() {
+    emptyBatches.inc();
+  }
+
+}
@@ -28,6 +28,51 @@ import java.util.Iterator;
  * configuration.
  */
 public abstract class RecordTarget extends BaseTarget {
+  private int maxInFlightWrites;
+  private ConcurrentRecordWrites concurrentWrites;
+  private RecordMetrics recordMetrics;
+
+  /**
+   * Returns the maximum number of records written concurrently.
+   * <p/>
+   * With more than one write in flight the records of a batch are written concurrently, each by a thread of a pool
+   * owned by the stage, {@link #write(Record)} must then be thread safe. {@link #write(Batch)} returns once all the
+   * writes have finished, the 'on record error' handling of the failed writes happens then, in the order of the records
+   * in the batch, by the thread calling {@link #write(Batch)}. If a record error stops the pipeline the records
+   * following it have been written as well.
+   * <p/>
+   * Because the records are written by other threads, {@link #write(Record)} must not use the <code>Context</code>
+   * methods that deal with records, such as <code>toError()</code> or <code>toEvent()</code>.
+   * <p/>
+   * The number of writes in flight and the latency of every write are published as the
+   * <code>Record Writes In Flight</code> counter and the <code>Record Write Latency</code> timer of the stage.
+   * <p/>
+   * This implementation returns <code>1</code>, the records are written sequentially. It is called once, on the first
+   * batch. Subclasses overriding {@link #destroy()} must call <code>super.destroy()</code> to release the threads.
+   *
+   * @return the maximum number of records written concurrently.
+   */
+  protected int getMaxInFlightWrites() {
+    return 1;
+  }
+
+  /**
+   * Returns 1 in how many records have their write latency recorded, in the <code>Record Latency</code> timer
+   * of the stage. Records written concurrently are not sampled.
+   * <p/>
+   * With a sampling greater than zero the stage also counts the record errors by 'on record error' action, in the
+   * <code>Record Errors Discarded</code>, <code>Record Errors To Error</code> and
+   * <code>Record Errors Stopping Pipeline</code> counters, and the empty batches, in the <code>Empty Batches</code>
+   * counter.
+   * <p/>
+   * This implementation returns <code>0</code>, the record metrics are disabled. It is called once, on the first
+   * batch.
+   *
+   * @return 1 in how many records have their latency recorded, <code>0</code> to disable the record metrics.
+   */
+  protected int getRecordMetricsSampling() {
+    return 0;
+  }
 
   /**
    * Writes the batch by calling the {@link #write(Record)} method for each record in the batch.
@@ -35,6 +80,9 @@ public abstract class RecordTarget extends BaseTarget {
    * If the calls to the {@link #write(Record)} throws an {@link OnRecordErrorException}, the error
    * handling is done based on the stage 'on record error' configuration, discarded, sent to error, or stopping the
    * pipeline.
+   * <p/>
+   * If {@link #getMaxInFlightWrites()} is greater than one the records are written concurrently, see
+   * {@link #getMaxInFlightWrites()}.
    *
    * @param batch the batch of records to write.
    * for them to be available to the rest of the pipeline.
@@ -43,12 +91,33 @@ public abstract class RecordTarget extends BaseTarget {
   @Override
   public void write(Batch batch) throws StageException {
     Iterator<Record> it = batch.getRecords();
-    if (it.hasNext()) {
+    if (maxInFlightWrites == 0) {
+      int sampling = getRecordMetricsSampling();
+      Utils.checkState(sampling >= 0, Utils.formatL("Record metrics sampling '{}' cannot be negative", sampling));
+      recordMetrics = RecordMetrics.create(getContext(), sampling);
+      maxInFlightWrites = getMaxInFlightWrites();
+      Utils.checkState(maxInFlightWrites > 0,
+          Utils.formatL("Max in flight writes '{}' must be greater than zero", maxInFlightWrites));
+      if (maxInFlightWrites > 1) {
+        concurrentWrites = new ConcurrentRecordWrites(
+            maxInFlightWrites,
+            getContext().createCounter(ConcurrentRecordWrites.IN_FLIGHT_COUNTER),
+            getContext().createTimer(ConcurrentRecordWrites.LATENCY_TIMER)
+        );
+      }
+    }
+    if (it.hasNext() && concurrentWrites != null) {
+      concurrentWrites.write(it, this::write, getContext(), recordMetrics);
+    } else if (it.hasNext()) {
       while (it.hasNext()) {
         Record record = it.next();
+        long start = (recordMetrics != null) ? recordMetrics.start() : 0;
         try {
           write(record);
         } catch (OnRecordErrorException ex) {
+          if (recordMetrics != null) {
+            recordMetrics.error(getContext().getOnErrorRecord());
+          }
           switch (getContext().getOnErrorRecord()) {
             case DISCARD:
               break;
@@ -61,9 +130,16 @@ public abstract class RecordTarget extends BaseTarget {
               throw new IllegalStateException(Utils.format("It should never happen. OnError '{}'",
                                                            getContext().getOnErrorRecord(), ex));
           }
+        } finally {
+          if (start != 0) {
+            recordMetrics.record(start);
+          }
         }
       }
     } else {
+      if (recordMetrics != null) {
+        recordMetrics.emptyBatch();
+      }
       emptyBatch();
     }
   }
@@ -91,4 +167,18 @@ public abstract class RecordTarget extends BaseTarget {
   protected void emptyBatch() throws StageException {
   }
 
+  /**
+   * Destroys the stage, releasing the threads writing the records concurrently.
+   */
+  @Override
+  public void destroy() {
+    if (concurrentWrites != null) {
+      concurrentWrites.destroy();
+      concurrentWrites = null;
+    }
+    maxInFlightWrites = 0;
+    recordMetrics = null;
+    super.destroy();
+  }
+
 }
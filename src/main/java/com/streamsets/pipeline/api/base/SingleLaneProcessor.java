@@ -20,6 +20,7 @@ import com.streamsets.pipeline.api.BatchMaker;
 import com.streamsets.pipeline.api.StageException;
 import com.streamsets.pipeline.api.Record;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -40,9 +41,46 @@ public abstract class SingleLaneProcessor extends BaseProcessor {
      * @param record the record to add.
      */
     public void addRecord(Record record);
+
+    /**
+     * Adds records to the <code>SingleLaneBatchMaker</code>, in order.
+     * <p/>
+     * The default implementation calls {@link #addRecord(Record)} for each record.
+     *
+     * @param records the records to add.
+     */
+    public default void addRecords(Collection<Record> records) {
+      for (Record record : records) {
+        addRecord(record);
+      }
+    }
   }
 
-  private String outputLane;
+  // single element array with the output lane, passed as is to the varargs BatchMaker methods
+  private String[] outputLanes;
+  private LaneBatchMaker laneBatchMaker;
+
+  /**
+   * <code>SingleLaneBatchMaker</code> writing to the output lane of the <code>BatchMaker</code> of a batch, reused
+   * while the <code>BatchMaker</code> given to {@link #process(Batch, BatchMaker)} is the same.
+   */
+  private class LaneBatchMaker implements SingleLaneBatchMaker {
+    private final BatchMaker batchMaker;
+
+    LaneBatchMaker(BatchMaker batchMaker) {
+      this.batchMaker = batchMaker;
+    }
+
+    @Override
+    public void addRecord(Record record) {
+      batchMaker.addRecord(record, outputLanes);
+    }
+
+    @Override
+    public void addRecords(Collection<Record> records) {
+      batchMaker.addRecords(records, outputLanes);
+    }
+  }
 
   /**
    * Constructor.
@@ -69,7 +107,7 @@ public abstract class SingleLaneProcessor extends BaseProcessor {
         1,
         getContext().getOutputLanes().size()));
     } else {
-      outputLane = getContext().getOutputLanes().iterator().next();
+      outputLanes = new String[]{getContext().getOutputLanes().iterator().next()};
     }
     setSuperInitCalled();
     return issues;
@@ -85,14 +123,11 @@ public abstract class SingleLaneProcessor extends BaseProcessor {
    * @throws StageException if the <code>Processor</code> had an error while processing records.
    */
   @Override
-  public void process(final Batch batch, final BatchMaker batchMaker) throws StageException {
-    SingleLaneBatchMaker slBatchMaker = new SingleLaneBatchMaker() {
-      @Override
-      public void addRecord(Record record) {
-        batchMaker.addRecord(record, outputLane);
-      }
-    };
-    process(batch, slBatchMaker);
+  public void process(Batch batch, BatchMaker batchMaker) throws StageException {
+    if (laneBatchMaker == null || laneBatchMaker.batchMaker != batchMaker) {
+      laneBatchMaker = new LaneBatchMaker(batchMaker);
+    }
+    process(batch, laneBatchMaker);
   }
 
   /**
@@ -22,6 +22,7 @@ import com.streamsets.pipeline.api.Record;
 import com.streamsets.pipeline.api.impl.Utils;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * The <code>SingleLaneRecordProcessor</code> is an convenience {@link com.streamsets.pipeline.api.Processor}
@@ -29,6 +30,52 @@ import java.util.Iterator;
  * 'on record error' and writes all records to a single output stream.
  */
 public abstract class SingleLaneRecordProcessor extends SingleLaneProcessor {
+  private int parallelism;
+  private ParallelRecordProcessing parallelProcessing;
+  private RecordMetrics recordMetrics;
+
+  /**
+   * Returns the number of threads processing the records of a batch.
+   * <p/>
+   * With a parallelism greater than one the records of a batch are processed in parallel by a bounded pool of threads
+   * owned by the stage, {@link #process(Record, SingleLaneBatchMaker)} must then be thread safe. The records added to
+   * the <code>SingleLaneBatchMaker</code>, and the 'on record error' handling, happen once all the records have been
+   * processed, in the order of the records in the batch, by the thread calling {@link #process(Batch,
+   * SingleLaneBatchMaker)}. The output is the same as with sequential processing. If a record error stops the
+   * pipeline, the records following it have been processed but are not written.
+   * <p/>
+   * Because the records are processed by other threads, {@link #process(Record, SingleLaneBatchMaker)} must not use
+   * the <code>Context</code> methods that deal with records, such as <code>toError()</code> or
+   * <code>toEvent()</code>.
+   * <p/>
+   * This implementation returns <code>1</code>, the records are processed sequentially. It is called once, on the
+   * first batch. Subclasses overriding {@link #destroy()} must call <code>super.destroy()</code> to release the
+   * threads.
+   *
+   * @return the number of threads processing the records of a batch.
+   */
+  protected int getRecordProcessingParallelism() {
+    return 1;
+  }
+
+  /**
+   * Returns 1 in how many records have their processing latency recorded, in the <code>Record Latency</code> timer
+   * of the stage. Records processed in parallel are sampled in the order of the batch, and timed by the
+   * threads processing them.
+   * <p/>
+   * With a sampling greater than zero the stage also counts the record errors by 'on record error' action, in the
+   * <code>Record Errors Discarded</code>, <code>Record Errors To Error</code> and
+   * <code>Record Errors Stopping Pipeline</code> counters, and the empty batches, in the <code>Empty Batches</code>
+   * counter.
+   * <p/>
+   * This implementation returns <code>0</code>, the record metrics are disabled. It is called once, on the first
+   * batch.
+   *
+   * @return 1 in how many records have their latency recorded, <code>0</code> to disable the record metrics.
+   */
+  protected int getRecordMetricsSampling() {
+    return 0;
+  }
 
   /**
    * Processes the batch by calling the {@link #process(Record, SingleLaneBatchMaker)} method for each record in the
@@ -37,6 +84,9 @@ public abstract class SingleLaneRecordProcessor extends SingleLaneProcessor {
    * If the calls to the {@link #process(Record, SingleLaneBatchMaker)} throws an {@link OnRecordErrorException}, the
    * error handling is done based on the stage 'on record error' configuration, discarded, sent to error, or stopping
    * the pipeline.
+   * <p/>
+   * If {@link #getRecordProcessingParallelism()} is greater than one the records are processed in parallel, see
+   * {@link #getRecordProcessingParallelism()}.
    *
    * @param batch the batch of records to process.
    * @param batchMaker records created by the <code>Processor</code> stage must be added to the <code>BatchMaker</code>
@@ -46,12 +96,32 @@ public abstract class SingleLaneRecordProcessor extends SingleLaneProcessor {
   @Override
   public void process(Batch batch, SingleLaneBatchMaker batchMaker) throws StageException {
     Iterator<Record> it = batch.getRecords();
-    if (it.hasNext()) {
+    if (parallelism == 0) {
+      int sampling = getRecordMetricsSampling();
+      Utils.checkState(sampling >= 0, Utils.formatL("Record metrics sampling '{}' cannot be negative", sampling));
+      recordMetrics = RecordMetrics.create(getContext(), sampling);
+      parallelism = getRecordProcessingParallelism();
+      Utils.checkState(parallelism > 0, Utils.formatL("Parallelism '{}' must be greater than zero", parallelism));
+      if (parallelism > 1) {
+        parallelProcessing = new ParallelRecordProcessing(parallelism);
+      }
+    }
+    if (it.hasNext() && parallelProcessing != null) {
+      List<ParallelRecordProcessing.RecordBuffer> buffers =
+          parallelProcessing.process(it, getContext().getOutputLanes(), recordMetrics, this::process);
+      for (ParallelRecordProcessing.RecordBuffer buffer : buffers) {
+        ParallelRecordProcessing.complete(buffer, getContext(), recordMetrics, batchMaker);
+      }
+    } else if (it.hasNext()) {
       while (it.hasNext()) {
         Record record = it.next();
+        long start = (recordMetrics != null) ? recordMetrics.start() : 0;
         try {
           process(record, batchMaker);
         } catch (OnRecordErrorException ex) {
+          if (recordMetrics != null) {
+            recordMetrics.error(getContext().getOnErrorRecord());
+          }
           switch (getContext().getOnErrorRecord()) {
             case DISCARD:
               break;
@@ -64,9 +134,16 @@ public abstract class SingleLaneRecordProcessor extends SingleLaneProcessor {
               throw new IllegalStateException(Utils.format("It should never happen. OnError '{}'",
                                                            getContext().getOnErrorRecord(), ex));
           }
+        } finally {
+          if (start != 0) {
+            recordMetrics.record(start);
+          }
         }
       }
     } else {
+      if (recordMetrics != null) {
+        recordMetrics.emptyBatch();
+      }
       emptyBatch(batchMaker);
     }
   }
@@ -97,4 +174,18 @@ public abstract class SingleLaneRecordProcessor extends SingleLaneProcessor {
   protected void emptyBatch(SingleLaneBatchMaker batchMaker) throws StageException {
   }
 
+  /**
+   * Destroys the stage, releasing the threads processing the records in parallel.
+   */
+  @Override
+  public void destroy() {
+    if (parallelProcessing != null) {
+      parallelProcessing.destroy();
+      parallelProcessing = null;
+    }
+    parallelism = 0;
+    recordMetrics = null;
+    super.destroy();
+  }
+
 }
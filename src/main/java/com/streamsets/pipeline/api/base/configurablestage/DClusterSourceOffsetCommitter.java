@@ -18,6 +18,7 @@ package com.streamsets.pipeline.api.base.configurablestage;
 import com.streamsets.pipeline.api.Source;
 import com.streamsets.pipeline.api.Stage;
 import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.base.Errors;
 import com.streamsets.pipeline.api.impl.ClusterSource;
 import com.streamsets.pipeline.api.impl.Utils;
 import org.slf4j.Logger;
@@ -26,17 +27,25 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public abstract class DClusterSourceOffsetCommitter extends DSourceOffsetCommitter implements ClusterSource {
   private static final Logger LOG = LoggerFactory.getLogger(DClusterSourceOffsetCommitter.class);
-  private ClusterSource clusterSource;
+  static final long CLUSTER_SOURCE_TIMEOUT_MILLIS = 60L * 1000L;
+
+  // resolved once the source is created, or once it is initialized if it is a delegating source,
+  // with NULL if the source did not implement ClusterSource when resolved
+  private final CompletableFuture<ClusterSource> clusterSourceFuture = new CompletableFuture<>();
 
   @Override
   Stage<Source.Context> createStage() {
     Stage<Source.Context> result = super.createStage();
     LOG.info("Created source of type: {}", source);
     if (source instanceof ClusterSource) {
-      clusterSource = (ClusterSource) source;
+      clusterSourceFuture.complete((ClusterSource) source);
     } else if (source == null) {
       throw new NullPointerException("Source cannot be null");
     }
@@ -44,21 +53,83 @@ public abstract class DClusterSourceOffsetCommitter extends DSourceOffsetCommitt
   }
 
   @Override
-  public String getName() {
-    if (initializeClusterSource()) {
-      return clusterSource.getName();
-    } else {
-      return null;
+  void stageInitialized() {
+    resolveClusterSource();
+  }
+
+  private void resolveClusterSource() {
+    // Get actual source in case of source being a delegating source (DelegatingKafkaSource)
+    Source source = getSource();
+    if (source instanceof ClusterSource) {
+      if (!clusterSourceFuture.complete((ClusterSource) source)) {
+        // resolved before with NULL, the delegate is known now
+        clusterSourceFuture.obtrudeValue((ClusterSource) source);
+      }
+    } else if (source != null && clusterSourceFuture.complete(null)) {
+      LOG.info(Utils.format(
+        "The instance '{}' will not call this method as it does not implement '{}'", source.getClass().getName(),
+        ClusterSource.class.getName()));
+    }
+  }
+
+  long getClusterSourceTimeoutMillis() {
+    return CLUSTER_SOURCE_TIMEOUT_MILLIS;
+  }
+
+  /**
+   * Waits for the source to be created, only the calls made before that wait.
+   * <p/>
+   * While the source is not a <code>ClusterSource</code> it is looked up again on every call, as a delegating source
+   * may not have created its delegate yet.
+   *
+   * @return the cluster source, <code>NULL</code> if the source does not implement <code>ClusterSource</code>.
+   * @throws StageException if the source is not created within the timeout.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  private ClusterSource awaitClusterSource() throws StageException, InterruptedException {
+    ClusterSource clusterSource = clusterSourceFuture.getNow(null);
+    if (clusterSource == null) {
+      resolveClusterSource();
+      try {
+        clusterSource = clusterSourceFuture.get(getClusterSourceTimeoutMillis(), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException ex) {
+        throw new StageException(Errors.API_31, getClusterSourceTimeoutMillis(), ex);
+      } catch (ExecutionException ex) {
+        throw new IllegalStateException(Utils.format("It should never happen: {}", ex), ex);
+      }
+    }
+    return clusterSource;
+  }
+
+  // for the ClusterSource methods that declare InterruptedException
+  private ClusterSource getClusterSourceInterruptibly() throws InterruptedException {
+    try {
+      return awaitClusterSource();
+    } catch (StageException ex) {
+      throw new RuntimeException("Could not obtain cluster source: " + ex.getMessage(), ex);
+    }
+  }
+
+  private ClusterSource getClusterSource() {
+    try {
+      return getClusterSourceInterruptibly();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      StageException cause = new StageException(Errors.API_32, ex);
+      throw new RuntimeException("Could not obtain cluster source: " + cause.getMessage(), cause);
     }
   }
 
+  @Override
+  public String getName() {
+    ClusterSource clusterSource = getClusterSource();
+    return (clusterSource != null) ? clusterSource.getName() : null;
+  }
+
   @Override
   public boolean isInBatchMode() {
-    if (initializeClusterSource()) {
-      return clusterSource.isInBatchMode();
-    } else {
-      return false;
-    }
+    ClusterSource clusterSource = getClusterSource();
+    return clusterSource != null && clusterSource.isInBatchMode();
   }
 
   /**
@@ -68,44 +139,16 @@ public abstract class DClusterSourceOffsetCommitter extends DSourceOffsetCommitt
    */
   @Override
   public Object put(List<Map.Entry> batch) throws InterruptedException {
-    if (initializeClusterSource()) {
-      return clusterSource.put(batch);
-    }
-    return null;
+    ClusterSource clusterSource = getClusterSourceInterruptibly();
+    return (clusterSource != null) ? clusterSource.put(batch) : null;
   }
 
   @Override
   public void completeBatch() throws InterruptedException {
-    clusterSource.completeBatch();
-  }
-
-  private boolean initializeClusterSource() {
-    // TODO fix this hack and ensure initialization is synchronous
-    long start = System.currentTimeMillis();
-    try {
-      while (clusterSource == null && (System.currentTimeMillis() - start) < 60L * 1000L) {
-        // Get actual source in case of source being a delegating source (DelegatingKafkaSource)
-        Source source = getSource();
-        if (source instanceof ClusterSource) {
-          clusterSource = (ClusterSource) source;
-          return true;
-        } else if (source != null) {
-          LOG.info(Utils.format(
-            "The instance '{}' will not call this method as it does not implement '{}'", source.getClass().getName(),
-            ClusterSource.class.getName()));
-          return false;
-        }
-
-        Thread.sleep(1);
-      }
-    } catch (InterruptedException e) {
-      // Interrupted while waiting, the cases below will react to this state properly
+    ClusterSource clusterSource = getClusterSourceInterruptibly();
+    if (clusterSource != null) {
+      clusterSource.completeBatch();
     }
-
-    if (clusterSource == null) {
-      throw new RuntimeException("Could not obtain cluster source");
-    }
-    return true;
   }
 
   /**
@@ -114,12 +157,8 @@ public abstract class DClusterSourceOffsetCommitter extends DSourceOffsetCommitt
    */
   @Override
   public long getRecordsProduced() {
-    if (initializeClusterSource()) {
-      return clusterSource.getRecordsProduced();
-    } else {
-      return -1;
-    }
-
+    ClusterSource clusterSource = getClusterSource();
+    return (clusterSource != null) ? clusterSource.getRecordsProduced() : -1;
   }
 
   /**
@@ -128,32 +167,34 @@ public abstract class DClusterSourceOffsetCommitter extends DSourceOffsetCommitt
    */
   @Override
   public boolean inErrorState() {
-    if (initializeClusterSource()) {
-      return clusterSource.inErrorState();
-    } else {
-      return false;
-    }
+    ClusterSource clusterSource = getClusterSource();
+    return clusterSource != null && clusterSource.inErrorState();
   }
 
   @Override
   public Map<String, String> getConfigsToShip() {
-    if (initializeClusterSource()) {
-      return clusterSource.getConfigsToShip();
-    } else {
-      return null;
-    }
+    ClusterSource clusterSource = getClusterSource();
+    return (clusterSource != null) ? clusterSource.getConfigsToShip() : null;
   }
 
   @Override
   public void postDestroy() {
-    if (initializeClusterSource()) {
+    ClusterSource clusterSource = getClusterSource();
+    if (clusterSource != null) {
       clusterSource.postDestroy();
     }
   }
 
   @Override
   public int getParallelism() throws IOException, StageException {
-    return initializeClusterSource() ? clusterSource.getParallelism() : -1;
+    ClusterSource clusterSource;
+    try {
+      clusterSource = awaitClusterSource();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new StageException(Errors.API_32, ex);
+    }
+    return (clusterSource != null) ? clusterSource.getParallelism() : -1;
   }
 
 }
@@ -28,12 +28,17 @@ public abstract class DStage<C extends Stage.Context> implements Stage<C> {
 
   abstract Stage<C> createStage();
 
+  void stageInitialized() {
+  }
+
   @Override
   public final List<ConfigIssue> init(Info info, C context) {
     if(stage == null) {
       stage = createStage();
     }
-    return stage.init(info, context);
+    List<ConfigIssue> issues = stage.init(info, context);
+    stageInitialized();
+    return issues;
   }
 
   @Override
@@ -32,12 +32,27 @@ public class DecimalTypeSupport extends TypeSupport<BigDecimal> {
     }
 
     if (value instanceof Number) {
-      //http://stackoverflow.com/questions/16216248/convert-java-number-to-bigdecimal-best-way
-      return new BigDecimal(value.toString());
+      return toDecimal((Number) value);
     }
 
     throw new TypeSupportConversionException(Errors.API_08,
                                                     value.getClass().getSimpleName(), value);
   }
 
+  // Same result as new BigDecimal(value.toString()), the string round trip is only done when it can't be avoided.
+  // http://stackoverflow.com/questions/16216248/convert-java-number-to-bigdecimal-best-way
+  static BigDecimal toDecimal(Number value) {
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      return BigDecimal.valueOf(value.longValue());
+    }
+    if (value instanceof Double || value instanceof Float) {
+      // toString() of whole numbers below 10^7 is plain notation with a single decimal ("42.0")
+      double d = value.doubleValue();
+      if (Math.abs(d) < 1e7 && d == Math.rint(d)) {
+        return BigDecimal.valueOf((long) d * 10, 1);
+      }
+    }
+    return new BigDecimal(value.toString());
+  }
+
 }
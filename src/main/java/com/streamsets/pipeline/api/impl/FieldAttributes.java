@@ -0,0 +1,239 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact <code>Map</code> for <code>Field</code> attributes.
+ * <p/>
+ * Up to {@link #INLINE_CAPACITY} entries are kept in a single array of alternating keys and values and looked up with
+ * a linear scan, beyond that the entries are moved to a <code>LinkedHashMap</code>. Either way the iteration order is
+ * the insertion order. Keys are deduplicated with a small fixed size cache, as most fields of a pipeline share the
+ * same few attribute names (i.e. JDBC column metadata), which makes lookups mostly reference comparisons. A name only
+ * replaces the cached name of the same slot, data driven names can neither grow the cache nor keep the common names
+ * out of it.
+ * <p/>
+ * Equality and hashcode are the ones of <code>java.util.Map</code>. This class is not thread safe.
+ */
+public final class FieldAttributes extends AbstractMap<String, String> {
+  static final int INLINE_CAPACITY = 8;
+
+  // direct mapped, per class loader, a power of two
+  static final int KEY_CACHE_SIZE = 256;
+  // racy by design, Strings are immutable and a lost update only costs a string comparison
+  private static final String[] KEY_CACHE = new String[KEY_CACHE_SIZE];
+
+  // key0, value0, key1, value1, ..., null once the entries have been moved to overflow
+  private String[] entries;
+  private int size;
+  private Map<String, String> overflow;
+  private Set<Entry<String, String>> entrySet;
+
+  public FieldAttributes() {
+  }
+
+  public FieldAttributes(Map<String, String> attributes) {
+    if (attributes.size() > INLINE_CAPACITY) {
+      overflow = new LinkedHashMap<>(attributes);
+    } else {
+      entries = new String[attributes.size() * 2];
+      for (Entry<String, String> entry : attributes.entrySet()) {
+        entries[size * 2] = intern(entry.getKey());
+        entries[size * 2 + 1] = entry.getValue();
+        size++;
+      }
+    }
+  }
+
+  static String intern(String key) {
+    if (key == null) {
+      return null;
+    }
+    int hash = key.hashCode();
+    int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+    String cached = KEY_CACHE[slot];
+    if (key.equals(cached)) {
+      return cached;
+    }
+    KEY_CACHE[slot] = key;
+    return key;
+  }
+
+  private int indexOf(Object key) {
+    for (int i = 0; i < size * 2; i += 2) {
+      if (entries[i] == key) {
+        return i;
+      }
+    }
+    for (int i = 0; i < size * 2; i += 2) {
+      if (Objects.equals(entries[i], key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int size() {
+    return (overflow != null) ? overflow.size() : size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return (overflow != null) ? overflow.containsKey(key) : indexOf(key) >= 0;
+  }
+
+  @Override
+  public String get(Object key) {
+    if (overflow != null) {
+      return overflow.get(key);
+    }
+    int index = indexOf(key);
+    return (index >= 0) ? entries[index + 1] : null;
+  }
+
+  @Override
+  public String put(String key, String value) {
+    if (overflow != null) {
+      return overflow.put(intern(key), value);
+    }
+    int index = indexOf(key);
+    if (index >= 0) {
+      String old = entries[index + 1];
+      entries[index + 1] = value;
+      return old;
+    }
+    if (size == INLINE_CAPACITY) {
+      overflow = new LinkedHashMap<>();
+      for (int i = 0; i < size * 2; i += 2) {
+        overflow.put(entries[i], entries[i + 1]);
+      }
+      overflow.put(intern(key), value);
+      entries = null;
+      size = 0;
+      return null;
+    }
+    if (entries == null || entries.length == size * 2) {
+      String[] grown = new String[Math.min(Math.max(size * 2, 2), INLINE_CAPACITY) * 2];
+      if (entries != null) {
+        System.arraycopy(entries, 0, grown, 0, size * 2);
+      }
+      entries = grown;
+    }
+    entries[size * 2] = intern(key);
+    entries[size * 2 + 1] = value;
+    size++;
+    return null;
+  }
+
+  @Override
+  public String remove(Object key) {
+    if (overflow != null) {
+      return overflow.remove(key);
+    }
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    String old = entries[index + 1];
+    removeAt(index);
+    return old;
+  }
+
+  private void removeAt(int index) {
+    System.arraycopy(entries, index + 2, entries, index, size * 2 - index - 2);
+    size--;
+    entries[size * 2] = null;
+    entries[size * 2 + 1] = null;
+  }
+
+  @Override
+  public void clear() {
+    overflow = null;
+    entries = null;
+    size = 0;
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new AbstractSet<Entry<String, String>>() {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+          return (overflow != null) ? overflow.entrySet().iterator() : new InlineIterator();
+        }
+
+        @Override
+        public int size() {
+          return FieldAttributes.this.size();
+        }
+      };
+    }
+    return entrySet;
+  }
+
+  private class InlineIterator implements Iterator<Entry<String, String>> {
+    private int next;
+    private int last = -1;
+
+    @Override
+    public boolean hasNext() {
+      return next < size * 2;
+    }
+
+    @Override
+    public Entry<String, String> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next += 2;
+      return new InlineEntry(last);
+    }
+
+    @Override
+    public void remove() {
+      Utils.checkState(last >= 0, "next() has not been called");
+      removeAt(last);
+      next = last;
+      last = -1;
+    }
+  }
+
+  private class InlineEntry extends SimpleEntry<String, String> {
+    private final int index;
+
+    InlineEntry(int index) {
+      super(entries[index], entries[index + 1]);
+      this.index = index;
+    }
+
+    @Override
+    public String setValue(String value) {
+      entries[index + 1] = value;
+      return super.setValue(value);
+    }
+  }
+
+}
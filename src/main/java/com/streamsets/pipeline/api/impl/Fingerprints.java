@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+/**
+ * 64-bit hashing primitives used by <code>Field.getFingerprint()</code>.
+ * <p/>
+ * These are fast, non-cryptographic hashes, they must not be used where collisions can be forced by an attacker.
+ */
+public final class Fingerprints {
+  private static final long PRIME = 0x100000001b3L;
+  private static final long SEED = 0xcbf29ce484222325L;
+
+  private Fingerprints() {
+  }
+
+  /**
+   * Spreads the bits of the given value over the 64 bits of the result (MurmurHash3 finalizer).
+   */
+  public static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * Combines the fingerprint of an element into the fingerprint of an ordered sequence.
+   */
+  public static long combine(long h, long element) {
+    return (h ^ element) * PRIME;
+  }
+
+  /**
+   * Returns the initial fingerprint of an ordered sequence of the given kind.
+   */
+  public static long start(long kind) {
+    return mix(SEED + kind);
+  }
+
+  public static long of(CharSequence str) {
+    long h = SEED;
+    for (int i = 0; i < str.length(); i++) {
+      h = (h ^ str.charAt(i)) * PRIME;
+    }
+    return mix(h + str.length());
+  }
+
+  public static long of(byte[] bytes) {
+    long h = SEED;
+    for (byte b : bytes) {
+      h = (h ^ (b & 0xff)) * PRIME;
+    }
+    return mix(h + bytes.length);
+  }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.FieldBatch;
+import com.streamsets.pipeline.api.Record;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of FieldBatch that visits the fields of a list of records, one record after the other, with a single
+ * cursor. Within each record the fields are visited as by {@link RecordTreeFieldBatch}.
+ * <p/>
+ * Optionally only the fields of the given types are visited (i.e. only <code>STRING</code> fields), the fields within
+ * a <code>MAP</code>, <code>LIST</code> or <code>LIST_MAP</code> are visited even if the collection itself is not of
+ * one of the types. Note that {@link #hasNext()} has to scan the remaining fields until one of the types is found, the
+ * iteration is cheapest with {@link #next()} alone.
+ */
+public class MultiRecordFieldBatch implements FieldBatch {
+  private final boolean[] types;
+  private final boolean allTypes;
+  private final RecordTreeFieldBatch tree = new RecordTreeFieldBatch(null);
+
+  private List<Record> records;
+  private int recordIndex;
+  private boolean inRecord;
+
+  /**
+   * Iterate over all fields of the given records.
+   *
+   * @param records Records that are being processed.
+   */
+  public MultiRecordFieldBatch(List<Record> records) {
+    this(records, null);
+  }
+
+  /**
+   * Iterate over the fields of the given types of the given records.
+   *
+   * @param records Records that are being processed.
+   * @param types Types of the fields to visit, <code>null</code> to visit all fields.
+   */
+  public MultiRecordFieldBatch(List<Record> records, Set<Field.Type> types) {
+    Utils.checkArgument(types == null || !types.isEmpty(), "types cannot be empty");
+    this.types = new boolean[Field.Type.values().length];
+    for (Field.Type type : Field.Type.values()) {
+      this.types[type.ordinal()] = types == null || types.contains(type);
+    }
+    this.allTypes = types == null;
+    reset(records);
+  }
+
+  /**
+   * Starts iterating over the fields of other records, reusing the cursor of this field batch.
+   *
+   * @param records Records that are being processed.
+   */
+  public void reset(List<Record> records) {
+    this.records = Utils.checkNotNull(records, "records");
+    this.recordIndex = -1;
+    this.inRecord = false;
+    tree.reset(null);
+  }
+
+  /**
+   * Releases the records, the field batch can be reused with {@link #reset(List)}.
+   */
+  public void clear() {
+    reset(Collections.<Record>emptyList());
+  }
+
+  /**
+   * Returns the position, in the list of records, of the record being visited, <code>-1</code> before the first call
+   * to {@link #next()}.
+   */
+  public int getRecordIndex() {
+    return recordIndex;
+  }
+
+  /**
+   * Skips the remaining fields of the record being visited, the next call to {@link #next()} moves to the first field
+   * of the following record.
+   */
+  public void skipRecord() {
+    inRecord = false;
+    tree.reset(null);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (inRecord && (allTypes ? tree.hasNext() : tree.hasNext(types))) {
+      return true;
+    }
+    for (int i = recordIndex + 1; i < records.size(); i++) {
+      if (RecordTreeFieldBatch.containsMatch(records.get(i).get(), types)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean next() {
+    while (true) {
+      if (inRecord) {
+        while (tree.next()) {
+          if (types[tree.getField().getType().ordinal()]) {
+            return true;
+          }
+        }
+      }
+      if (recordIndex + 1 >= records.size()) {
+        inRecord = false;
+        tree.reset(null);
+        recordIndex = records.size();
+        return false;
+      }
+      recordIndex++;
+      tree.reset(records.get(recordIndex));
+      inRecord = true;
+    }
+  }
+
+  @Override
+  public String getFieldPath() {
+    return tree.getFieldPath();
+  }
+
+  @Override
+  public String getFieldName() {
+    return tree.getFieldName();
+  }
+
+  @Override
+  public Field getField() {
+    return tree.getField();
+  }
+
+  @Override
+  public Field getParentField() {
+    return tree.getParentField();
+  }
+
+  @Override
+  public String getParentFieldPath() {
+    return tree.getParentFieldPath();
+  }
+
+  @Override
+  public int getIndexInParent() {
+    return tree.getIndexInParent();
+  }
+
+  @Override
+  public Record getRecord() {
+    return tree.getRecord();
+  }
+
+  @Override
+  public void replace(Field replacement) {
+    tree.replace(replacement);
+  }
+
+  @Override
+  public void drop() {
+    tree.drop();
+  }
+
+}
@@ -17,6 +17,8 @@ package com.streamsets.pipeline.api.impl;
 
 import com.streamsets.pipeline.api.Field;
 import com.streamsets.pipeline.api.FieldBatch;
+import com.streamsets.pipeline.api.FieldPath;
+import com.streamsets.pipeline.api.InvalidFieldPathException;
 import com.streamsets.pipeline.api.Record;
 
 import java.util.Iterator;
@@ -99,15 +101,14 @@ public class RecordBasedFieldBatch implements FieldBatch {
       return null;
     }
 
-    // We sadly don't have a proper tools to parse field paths here, so this is quick implementation. In the future
-    // we should make field parsing code available from data collector container module here in API. This code does not
-    // properly support escaping of field names at this time.
-
-    // Get latest part of the field path
-    String[] parts = currentFieldPath.split("/");
-
-    // For arrays drop end index
-    fieldName = parts[parts.length - 1].replaceAll("\\[\\d+\\]$", "");
+    // Quoted names are returned unquoted and unescaped, as the stages see them in the record
+    try {
+      fieldName = FieldPath.parse(currentFieldPath).getFieldName();
+    } catch (InvalidFieldPathException ex) {
+      // Not a valid field-path, keep the lenient behavior: the last part of the path without its array index
+      String[] parts = currentFieldPath.split("/");
+      fieldName = parts.length == 0 ? "" : parts[parts.length - 1].replaceAll("\\[\\d+\\]$", "");
+    }
 
     return fieldName;
   }
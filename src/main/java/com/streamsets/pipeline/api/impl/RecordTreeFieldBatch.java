@@ -0,0 +1,452 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.FieldBatch;
+import com.streamsets.pipeline.api.FieldPath;
+import com.streamsets.pipeline.api.Record;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of FieldBatch that walks the field tree of a record directly, visiting every field (the root field
+ * first, then depth first, parents before their children), in the same order as
+ * {@link Record#getEscapedFieldPaths()}.
+ * <p/>
+ * Unlike {@link RecordBasedFieldBatch} no field-path is resolved: the cursor keeps a stack with the position within
+ * every enclosing <code>MAP</code>, <code>LIST</code> or <code>LIST_MAP</code>, which is reused for all the fields
+ * (and all the records, see {@link #reset(Record)}). Field-paths are only built when
+ * {@link #getFieldPath()} or {@link #getParentFieldPath()} are called. {@link #replace(Field)} and {@link #drop()}
+ * modify the parent collection in place.
+ * <p/>
+ * After {@link #replace(Field)} the walk continues with the children of the replacement, after {@link #drop()} the
+ * children of the dropped field are not visited.
+ * <p/>
+ * A bounded cursor, see {@link #RecordTreeFieldBatch(FieldPath, int, boolean)}, walks only the field at a field-path
+ * and the fields within it, up to a maximum field-path depth, and does not support {@link #replace(Field)} and
+ * {@link #drop()}. The fields it visits can be modified through the <code>Field</code> API, as the collections on the
+ * way are handed out, copying those shared with clones of the record, unless the cursor is read-only: it then visits
+ * the fields in place, see {@link Field#peekValueAsMap()}, and they must not be modified.
+ */
+public class RecordTreeFieldBatch implements FieldBatch {
+  private static final int INITIAL_DEPTH = 8;
+
+  private final boolean bounded;
+  private final boolean readOnly;
+  private final FieldPath pathPrefix;
+  private final int maxDepth;
+
+  private Record record;
+  private boolean started;
+  private Field current;
+  private boolean dropped;
+
+  // level i holds the (i+1)-th collection from the root on the way to the current field, 'top' is the parent level;
+  // the levels below the path prefix depth lead to the field at the path prefix and are not walked
+  private int top;
+  private Field[] parents = new Field[INITIAL_DEPTH];
+  private List<?>[] lists = new List<?>[INITIAL_DEPTH];
+  private int[] indexes = new int[INITIAL_DEPTH];
+  private Iterator<?>[] iterators = new Iterator<?>[INITIAL_DEPTH];
+  private Map.Entry<?, ?>[] entries = new Map.Entry<?, ?>[INITIAL_DEPTH];
+
+  private final StringBuilder pathBuilder = new StringBuilder();
+  private String fieldPath;
+
+  /**
+   * Iterate over all fields of the given record.
+   *
+   * @param record Record that is being processed.
+   */
+  public RecordTreeFieldBatch(Record record) {
+    this(false, FieldPath.ROOT, Integer.MAX_VALUE, false);
+    reset(record);
+  }
+
+  /**
+   * Iteration over the field at the given field-path and the fields within it, up to the given field-path depth (the
+   * number of map keys and list indexes in the field-path, <code>0</code> for the root field), of the records given to
+   * {@link #reset(Record)}. {@link #replace(Field)} and {@link #drop()} are not supported.
+   *
+   * @param pathPrefix field-path of the first field to visit.
+   * @param maxDepth maximum field-path depth of the fields to visit.
+   * @param readOnly if the fields are visited in place, without copying the collections shared with clones of the
+   * record, they must then not be modified.
+   */
+  public RecordTreeFieldBatch(FieldPath pathPrefix, int maxDepth, boolean readOnly) {
+    this(true, pathPrefix, maxDepth, readOnly);
+    reset(null);
+  }
+
+  private RecordTreeFieldBatch(boolean bounded, FieldPath pathPrefix, int maxDepth, boolean readOnly) {
+    Utils.checkNotNull(pathPrefix, "pathPrefix");
+    Utils.checkArgument(maxDepth >= 0, Utils.formatL("maxDepth '{}' cannot be negative", maxDepth));
+    this.bounded = bounded;
+    this.readOnly = readOnly;
+    this.pathPrefix = pathPrefix;
+    this.maxDepth = maxDepth;
+  }
+
+  /**
+   * Starts iterating over all fields of another record, reusing the cursor of this field batch.
+   *
+   * @param record Record that is being processed.
+   */
+  public void reset(Record record) {
+    for (int i = 0; i <= top && i < parents.length; i++) {
+      parents[i] = null;
+      lists[i] = null;
+      iterators[i] = null;
+      entries[i] = null;
+    }
+    this.record = record;
+    this.started = false;
+    this.current = null;
+    this.dropped = false;
+    this.top = -1;
+    this.fieldPath = null;
+  }
+
+  // the checks and scans only read the collections, they are not handed out (and copied if shared with clones) until
+  // the cursor moves into them
+  private static boolean isContainer(Field field) {
+    if (field == null) {
+      return false;
+    }
+    switch (field.getType()) {
+      case MAP:
+      case LIST_MAP:
+        return field.peekValueAsMap() != null;
+      case LIST:
+        return field.peekValueAsList() != null;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isNotEmpty(Field container) {
+    return container.getType() == Field.Type.LIST
+        ? !container.peekValueAsList().isEmpty()
+        : !container.peekValueAsMap().isEmpty();
+  }
+
+  // the field at the path prefix, filling the levels leading to it if asked to, the collections on the way are then
+  // handed out unless read-only
+  private Field start(boolean fill) {
+    boolean handOut = fill && !readOnly;
+    int depth = pathPrefix.getDepth();
+    Field field = (record != null && depth <= maxDepth) ? record.get() : null;
+    for (int i = 0; i < depth && field != null; i++) {
+      Field parent = field;
+      String name = pathPrefix.getName(i);
+      int index = pathPrefix.getIndex(i);
+      List<Field> list = null;
+      Map.Entry<String, Field> entry = null;
+      field = null;
+      if (parent.getType() == Field.Type.LIST && parent.peekValueAsList() != null) {
+        list = handOut ? parent.getValueAsList() : parent.peekValueAsList();
+        field = (name == null && index < list.size()) ? list.get(index) : null;
+      } else if (parent.getType().isOneOf(Field.Type.MAP, Field.Type.LIST_MAP) && parent.peekValueAsMap() != null) {
+        Map<String, Field> map = handOut ? parent.getValueAsMap() : parent.peekValueAsMap();
+        if (name != null) {
+          field = map.get(name);
+          entry = new AbstractMap.SimpleImmutableEntry<>(name, field);
+        } else if (parent.getType() == Field.Type.LIST_MAP && index < map.size()) {
+          Iterator<Map.Entry<String, Field>> it = map.entrySet().iterator();
+          for (int skip = 0; skip < index; skip++) {
+            it.next();
+          }
+          entry = it.next();
+          field = entry.getValue();
+        }
+      }
+      if (field != null && fill) {
+        pushLevel(parent);
+        lists[top] = list;
+        indexes[top] = index;
+        entries[top] = entry;
+      }
+    }
+    return field;
+  }
+
+  // if the children of the current field are within the maximum depth
+  private boolean childrenWithinDepth() {
+    return top + 2 <= maxDepth;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (!started) {
+      return start(false) != null;
+    }
+    if (!dropped && childrenWithinDepth() && isContainer(current) && isNotEmpty(current)) {
+      return true;
+    }
+    for (int level = top; level >= pathPrefix.getDepth(); level--) {
+      // the elements following a dropped list element have been shifted to its index
+      int next = (dropped && level == top) ? indexes[level] : indexes[level] + 1;
+      if (lists[level] != null ? next < lists[level].size() : iterators[level].hasNext()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean next() {
+    fieldPath = null;
+    if (!started) {
+      started = true;
+      current = start(true);
+      return current != null;
+    }
+    if (dropped) {
+      if (top >= 0) {
+        // the elements following a dropped element have been shifted to its position
+        indexes[top]--;
+      }
+    } else if (childrenWithinDepth() && isContainer(current)) {
+      push(current);
+    }
+    dropped = false;
+    while (top >= pathPrefix.getDepth()) {
+      if (advance()) {
+        return true;
+      }
+      pop();
+    }
+    current = null;
+    return false;
+  }
+
+  /**
+   * Returns if there is a next field of one of the given types, without moving the cursor. Unlike {@link #hasNext()}
+   * this scans the remaining fields until one matches.
+   *
+   * @param types flags indexed by <code>Field.Type</code> ordinal.
+   */
+  boolean hasNext(boolean[] types) {
+    if (!started) {
+      return containsMatch(start(false), types, maxDepth - pathPrefix.getDepth());
+    }
+    if (!dropped && childrenWithinDepth() && isContainer(current)
+        && childrenMatch(current, 0, types, maxDepth - top - 2)) {
+      return true;
+    }
+    for (int level = top; level >= pathPrefix.getDepth(); level--) {
+      int next = (dropped && level == top) ? indexes[level] : indexes[level] + 1;
+      if (childrenMatch(parents[level], next, types, maxDepth - level - 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns if the given field or any field within it is of one of the given types.
+   */
+  static boolean containsMatch(Field field, boolean[] types) {
+    return containsMatch(field, types, Integer.MAX_VALUE);
+  }
+
+  // 'depthLeft' is how many levels below the field can be walked into
+  private static boolean containsMatch(Field field, boolean[] types, int depthLeft) {
+    if (field == null || depthLeft < 0) {
+      return false;
+    }
+    return types[field.getType().ordinal()]
+        || (depthLeft > 0 && isContainer(field) && childrenMatch(field, 0, types, depthLeft - 1));
+  }
+
+  // 'depthLeft' is how many levels below the children can be walked into
+  private static boolean childrenMatch(Field container, int from, boolean[] types, int depthLeft) {
+    if (container.getType() == Field.Type.LIST) {
+      List<Field> list = container.peekValueAsList();
+      for (int i = from; i < list.size(); i++) {
+        if (containsMatch(list.get(i), types, depthLeft)) {
+          return true;
+        }
+      }
+    } else {
+      int position = 0;
+      for (Field child : container.peekValueAsMap().values()) {
+        if (position++ >= from && containsMatch(child, types, depthLeft)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void pushLevel(Field container) {
+    top++;
+    if (top == parents.length) {
+      int length = parents.length * 2;
+      parents = Arrays.copyOf(parents, length);
+      lists = Arrays.copyOf(lists, length);
+      indexes = Arrays.copyOf(indexes, length);
+      iterators = Arrays.copyOf(iterators, length);
+      entries = Arrays.copyOf(entries, length);
+    }
+    parents[top] = container;
+  }
+
+  private void push(Field container) {
+    pushLevel(container);
+    indexes[top] = -1;
+    if (container.getType() == Field.Type.LIST) {
+      lists[top] = readOnly ? container.peekValueAsList() : container.getValueAsList();
+    } else {
+      iterators[top] = (readOnly ? container.peekValueAsMap() : container.getValueAsMap()).entrySet().iterator();
+    }
+  }
+
+  private void pop() {
+    parents[top] = null;
+    lists[top] = null;
+    iterators[top] = null;
+    entries[top] = null;
+    top--;
+  }
+
+  private boolean advance() {
+    indexes[top]++;
+    if (lists[top] != null) {
+      if (indexes[top] < lists[top].size()) {
+        current = (Field) lists[top].get(indexes[top]);
+        return true;
+      }
+    } else if (iterators[top].hasNext()) {
+      entries[top] = (Map.Entry<?, ?>) iterators[top].next();
+      current = (Field) entries[top].getValue();
+      return true;
+    }
+    return false;
+  }
+
+  // field-path of the field at the given level, -1 being the root field
+  private String buildPath(int level) {
+    pathBuilder.setLength(0);
+    for (int i = 0; i <= level; i++) {
+      if (lists[i] != null) {
+        pathBuilder.append('[').append(indexes[i]).append(']');
+      } else {
+        pathBuilder.append('/').append(FieldPath.escapeName((String) entries[i].getKey()));
+      }
+    }
+    return pathBuilder.toString();
+  }
+
+  private boolean isPositioned() {
+    return started && (current != null || dropped);
+  }
+
+  @Override
+  public String getFieldPath() {
+    if (!isPositioned()) {
+      return null;
+    }
+    if (fieldPath == null) {
+      fieldPath = buildPath(top);
+    }
+    return fieldPath;
+  }
+
+  @Override
+  public String getFieldName() {
+    if (!isPositioned()) {
+      return null;
+    }
+    for (int level = top; level >= 0; level--) {
+      if (lists[level] == null) {
+        return (String) entries[level].getKey();
+      }
+    }
+    return "";
+  }
+
+  @Override
+  public Field getField() {
+    return current;
+  }
+
+  @Override
+  public Field getParentField() {
+    return (isPositioned() && top >= 0) ? parents[top] : null;
+  }
+
+  @Override
+  public String getParentFieldPath() {
+    return (isPositioned() && top >= 0) ? buildPath(top - 1) : null;
+  }
+
+  @Override
+  public int getIndexInParent() {
+    return (isPositioned() && top >= 0 && lists[top] != null) ? indexes[top] : -1;
+  }
+
+  @Override
+  public Record getRecord() {
+    return record;
+  }
+
+  private void checkWritable() {
+    if (bounded) {
+      throw new UnsupportedOperationException("Bounded field batch");
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void replace(Field replacement) {
+    checkWritable();
+    if (!isPositioned() || dropped) {
+      return;
+    }
+    if (top < 0) {
+      record.set(replacement);
+    } else if (lists[top] != null) {
+      ((List<Field>) lists[top]).set(indexes[top], replacement);
+    } else {
+      ((Map.Entry<String, Field>) entries[top]).setValue(replacement);
+    }
+    current = replacement;
+  }
+
+  @Override
+  public void drop() {
+    checkWritable();
+    if (!isPositioned() || dropped) {
+      return;
+    }
+    if (top < 0) {
+      record.set((Field) null);
+    } else if (lists[top] != null) {
+      lists[top].remove(indexes[top]);
+    } else {
+      iterators[top].remove();
+    }
+    current = null;
+    dropped = true;
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+import com.streamsets.pipeline.api.Field;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Specialized converters for the most common source type / target type pairs.
+ * <p/>
+ * The value given to a converter is the value of a <code>Field</code> of the source type, so its class is known and
+ * the <code>instanceof</code> chains of the <code>TypeSupport</code> classes can be skipped. Converters produce the
+ * same values and throw the same exceptions as <code>TypeSupport.convert(Object, TypeSupport)</code>.
+ */
+public final class TypeConverters {
+
+  /**
+   * Converts a non-null value to a given type.
+   */
+  public interface Converter {
+    Object convert(Object value);
+  }
+
+  private static final Converter IDENTITY = value -> value;
+  private static final Converter TO_STRING = Object::toString;
+
+  private TypeConverters() {
+  }
+
+  /**
+   * Returns the specialized converter for the given source and target types.
+   *
+   * @param source source type.
+   * @param target target type.
+   * @return the converter, or <code>null</code> if there is none and <code>TypeSupport</code> should be used.
+   */
+  public static Converter get(Field.Type source, Field.Type target) {
+    switch (source) {
+      case BYTE:
+      case SHORT:
+      case INTEGER:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+      case DECIMAL:
+        return fromNumber(source, target);
+      case STRING:
+        return fromString(target);
+      case BOOLEAN:
+        return (target == Field.Type.BOOLEAN) ? IDENTITY : (target == Field.Type.STRING) ? TO_STRING : null;
+      case DATE:
+      case DATETIME:
+      case TIME:
+        return (target == Field.Type.LONG) ? (Converter) value -> ((Date) value).getTime() : null;
+      default:
+        return null;
+    }
+  }
+
+  private static Converter fromNumber(Field.Type source, Field.Type target) {
+    if (source == target) {
+      return IDENTITY;
+    }
+    switch (target) {
+      case BOOLEAN:
+        if (source == Field.Type.DECIMAL) {
+          return value -> !value.equals(BigDecimal.ZERO);
+        }
+        if (source == Field.Type.FLOAT || source == Field.Type.DOUBLE) {
+          return value -> ((Number) value).doubleValue() != 0;
+        }
+        return value -> ((Number) value).longValue() != 0;
+      case BYTE:
+        return value -> ((Number) value).byteValue();
+      case SHORT:
+        return value -> ((Number) value).shortValue();
+      case INTEGER:
+        return value -> ((Number) value).intValue();
+      case LONG:
+        return value -> ((Number) value).longValue();
+      case FLOAT:
+        return value -> ((Number) value).floatValue();
+      case DOUBLE:
+        return value -> ((Number) value).doubleValue();
+      case DECIMAL:
+        return value -> DecimalTypeSupport.toDecimal((Number) value);
+      case DATE:
+      case DATETIME:
+      case TIME:
+        // only LONG and INTEGER values convert to dates
+        return (source == Field.Type.LONG || source == Field.Type.INTEGER)
+            ? (Converter) value -> new Date(((Number) value).longValue())
+            : null;
+      case STRING:
+        return TO_STRING;
+      default:
+        return null;
+    }
+  }
+
+  private static Converter fromString(Field.Type target) {
+    switch (target) {
+      case BOOLEAN:
+        return value -> Boolean.valueOf((String) value);
+      case BYTE:
+        return value -> Byte.parseByte((String) value);
+      case SHORT:
+        return value -> Short.parseShort((String) value);
+      case INTEGER:
+        return value -> Integer.parseInt((String) value);
+      case LONG:
+        return value -> Long.parseLong((String) value);
+      case FLOAT:
+        return value -> Float.parseFloat((String) value);
+      case DOUBLE:
+        return value -> Double.parseDouble((String) value);
+      case DECIMAL:
+        return value -> new BigDecimal((String) value);
+      case STRING:
+        return IDENTITY;
+      default:
+        return null;
+    }
+  }
+
+}
@@ -21,8 +21,12 @@ import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -38,6 +42,13 @@ public final class Utils {
   private static final String PADDING = "000000000000000000000000000000000000";
   private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
   private static final String ISO8601_UTC_MASK = "yyyy-MM-dd'T'HH:mm'Z'";
+  // java.time equivalent of ISO8601_UTC_MASK for its canonical form (4 digit year and 2 digit fields, no trailing
+  // characters), immutable and thread safe so it does not have to be created for every parse() call
+  private static final DateTimeFormatter ISO8601_UTC_FORMATTER = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm'Z'")
+      .withResolverStyle(ResolverStyle.STRICT);
+  private static final String ISO8601_UTC_TEMPLATE = "0000-00-00T00:00Z";
+  // SimpleDateFormat uses the Julian calendar before the Gregorian cutover (October 15th 1582)
+  private static final int FIRST_GREGORIAN_YEAR = 1583;
 
   private static Callable<String> sdcIdCallable;
 
@@ -147,10 +158,48 @@ public final class Utils {
     return dateFormat;
   }
 
+  /**
+   * Parses an ISO 8601 UTC date with <code>yyyy-MM-dd'T'HH:mm'Z'</code> format.
+   * <p/>
+   * The canonical form is parsed with an immutable <code>java.time</code> formatter. Anything else (i.e. fields with
+   * fewer digits, trailing characters or dates before the Gregorian calendar) is handed to
+   * <code>SimpleDateFormat</code> so exactly the same inputs are accepted and rejected as before.
+   *
+   * @param str the string to parse.
+   * @return the parsed date.
+   * @throws ParseException if the string is not a valid date.
+   */
   public static Date parse(String str) throws ParseException {
+    if (isCanonicalISO8601(str)) {
+      try {
+        return new Date(
+            LocalDateTime.parse(str, ISO8601_UTC_FORMATTER).toInstant(ZoneOffset.UTC).toEpochMilli()
+        );
+      } catch (DateTimeParseException ex) {
+        // invalid date (i.e. December 50th), SimpleDateFormat reports it
+      }
+    }
     return getISO8601DateFormat().parse(str);
   }
 
+  private static boolean isCanonicalISO8601(String str) {
+    if (str.length() != ISO8601_UTC_TEMPLATE.length()) {
+      return false;
+    }
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+      char expected = ISO8601_UTC_TEMPLATE.charAt(i);
+      if (expected == '0' ? (c < '0' || c > '9') : c != expected) {
+        return false;
+      }
+    }
+    int year = 0;
+    for (int i = 0; i < 4; i++) {
+      year = year * 10 + (str.charAt(i) - '0');
+    }
+    return year >= FIRST_GREGORIAN_YEAR;
+  }
+
   public static ZonedDateTime parseZoned(String str) {
     return ZonedDateTime.parse(str, DateTimeFormatter.ISO_ZONED_DATE_TIME);
   }
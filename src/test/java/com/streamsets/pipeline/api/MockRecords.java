@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import org.mockito.Mockito;
+
+/**
+ * Mock {@link Record}s for the tests, the real implementation lives in the Data Collector container.
+ */
+public final class MockRecords {
+
+  private MockRecords() {
+  }
+
+  /**
+   * Returns a mock record whose root field is the given one.
+   *
+   * @param root the root field of the record, it can be <code>NULL</code>.
+   * @return the mock record.
+   */
+  public static Record record(Field root) {
+    Record record = Mockito.mock(Record.class);
+    Mockito.when(record.get()).thenReturn(root);
+    return record;
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+public class TestBatch {
+
+  private static Batch batch(final List<Record> records) {
+    return new Batch() {
+      @Override
+      public String getSourceEntity() {
+        return null;
+      }
+
+      @Override
+      public String getSourceOffset() {
+        return null;
+      }
+
+      @Override
+      public Iterator<Record> getRecords() {
+        return records.iterator();
+      }
+    };
+  }
+
+  private static List<Record> records(int count) {
+    List<Record> records = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Record record = Mockito.mock(Record.class);
+      Mockito.when(record.get()).thenReturn(Field.create(i));
+      records.add(record);
+    }
+    return records;
+  }
+
+  @Test
+  public void testRecordCountAndList() {
+    List<Record> records = records(5);
+    Batch batch = batch(records);
+    Assert.assertEquals(5, batch.getRecordCount());
+    Assert.assertEquals(records, batch.getRecordList());
+    Assert.assertTrue(batch.getRecordList() instanceof RandomAccess);
+    Assert.assertEquals(0, batch(new ArrayList<Record>()).getRecordCount());
+    Assert.assertEquals(-1, batch.getEstimatedSize());
+  }
+
+  @Test
+  public void testDefaultsUseNewIterators() {
+    List<Record> records = records(5);
+    List<Iterator<Record>> iterators = new ArrayList<>();
+    Batch batch = Mockito.spy(batch(records));
+    Mockito.when(batch.getRecords()).then(invocation -> {
+      Iterator<Record> it = records.iterator();
+      iterators.add(it);
+      return it;
+    });
+
+    // the iterators of the caller are not affected by the default methods
+    Iterator<Record> it = batch.getRecords();
+    it.next();
+    Assert.assertEquals(5, batch.getRecordCount());
+    Assert.assertEquals(records, batch.getRecordList());
+    Assert.assertEquals(records, batch.stream().collect(Collectors.toList()));
+    int remaining = 0;
+    for (; it.hasNext(); it.next()) {
+      remaining++;
+    }
+    Assert.assertEquals(4, remaining);
+
+    // one new iterator per call, consumed
+    Assert.assertEquals(4, iterators.size());
+    for (Iterator<Record> iterator : iterators) {
+      Assert.assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testRecordListUnmodifiable() {
+    batch(records(1)).getRecordList().clear();
+  }
+
+  @Test
+  public void testStreams() {
+    List<Record> records = records(1000);
+    Batch batch = batch(records);
+    Spliterator<Record> spliterator = batch.spliterator();
+    Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    Assert.assertEquals(1000, spliterator.estimateSize());
+    Assert.assertEquals(records, batch.stream().collect(Collectors.toList()));
+    Assert.assertTrue(batch.parallelStream().isParallel());
+    Assert.assertEquals(
+        records,
+        batch.parallelStream().map(r -> r).collect(Collectors.toList())
+    );
+    Assert.assertEquals(
+        999 * 1000 / 2,
+        batch.parallelStream().mapToInt(r -> r.get().getValueAsInteger()).sum()
+    );
+  }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestBatchMaker {
+
+  private static class RecordingBatchMaker implements BatchMaker {
+    private final List<String> added = new ArrayList<>();
+    private final List<Record> records;
+
+    RecordingBatchMaker(List<Record> records) {
+      this.records = records;
+    }
+
+    @Override
+    public List<String> getLanes() {
+      return ImmutableList.of("a", "b");
+    }
+
+    @Override
+    public void addRecord(Record record, String... lanes) {
+      added.add(records.indexOf(record) + ":" + Arrays.toString(lanes));
+    }
+  }
+
+  @Test
+  public void testAddRecords() {
+    List<Record> records = ImmutableList.of(Mockito.mock(Record.class), Mockito.mock(Record.class));
+    RecordingBatchMaker batchMaker = new RecordingBatchMaker(records);
+    batchMaker.addRecords(records, "a", "b");
+    batchMaker.addRecordsToLane(records, LaneHandle.of(batchMaker.getLanes()).get(1));
+    batchMaker.addRecords(ImmutableList.<Record>of());
+    Assert.assertEquals(ImmutableList.of("0:[a, b]", "1:[a, b]", "0:[b]", "1:[b]"), batchMaker.added);
+  }
+
+}
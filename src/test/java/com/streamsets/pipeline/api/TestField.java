@@ -22,6 +22,7 @@ import com.streamsets.pipeline.api.impl.BooleanTypeSupport;
 import com.streamsets.pipeline.api.impl.ByteArrayTypeSupport;
 import com.streamsets.pipeline.api.impl.ByteTypeSupport;
 import com.streamsets.pipeline.api.impl.CharTypeSupport;
+import com.streamsets.pipeline.api.impl.CreateByRef;
 import com.streamsets.pipeline.api.impl.DateTypeSupport;
 import com.streamsets.pipeline.api.impl.DecimalTypeSupport;
 import com.streamsets.pipeline.api.impl.DoubleTypeSupport;
@@ -37,6 +38,9 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -748,4 +752,309 @@ public class TestField {
     Assert.assertEquals(1, f2.getAttributes().size());
     Assert.assertEquals("value3", f2.getAttribute("attr3"));
   }
+
+  @Test
+  public void testAttributesOfClones() {
+    Field field = Field.create(Type.STRING, "value", ImmutableMap.of("a", "1", "b", "2"));
+    Field clone = field.clone();
+    Assert.assertEquals(field, clone);
+
+    clone.setAttribute("a", "10");
+    clone.deleteAttribute("b");
+    Assert.assertEquals(ImmutableMap.of("a", "1", "b", "2"), field.getAttributes());
+    Assert.assertEquals(ImmutableMap.of("a", "10"), clone.getAttributes());
+
+    Field other = field.clone();
+    field.setAttributes(ImmutableMap.of("c", "3"));
+    Assert.assertEquals(ImmutableMap.of("a", "1", "b", "2"), other.getAttributes());
+    Assert.assertEquals(ImmutableList.of("a", "b", "c"), ImmutableList.copyOf(field.getAttributeNames()));
+
+    Field primitive = Field.create(Type.INTEGER, 1, ImmutableMap.of("a", "1"));
+    Field primitiveClone = primitive.clone();
+    primitive.setAttribute("a", "2");
+    Assert.assertEquals("1", primitiveClone.getAttribute("a"));
+    Assert.assertNotEquals(primitive, primitiveClone);
+  }
+
+  @Test
+  public void testCachedHashCode() {
+    Map<String, Field> map = new LinkedHashMap<>();
+    map.put("a", Field.create(1));
+    map.put("b", Field.create(ImmutableList.of(Field.create("x"), Field.create("y"))));
+    Field field = Field.create(map);
+    Field other = Field.create(map);
+
+    int hash = field.hashCode();
+    Assert.assertEquals(map.hashCode(), hash);
+    Assert.assertEquals(hash, field.hashCode());
+    Assert.assertEquals(field, other);
+
+    Field clone = field.clone();
+    Assert.assertEquals(hash, clone.hashCode());
+
+    // modifications through the handed out value are seen
+    field.getValueAsMap().get("b").getValueAsList().add(Field.create("z"));
+    Assert.assertNotEquals(hash, field.hashCode());
+    Assert.assertEquals(field.getValueAsMap().hashCode(), field.hashCode());
+    Assert.assertNotEquals(field, other);
+    Assert.assertEquals(hash, clone.hashCode());
+    Assert.assertEquals(clone, other);
+
+    other.hashCode();
+    clone.getValueAsMap().get("b").getValueAsList().add(Field.create("z"));
+    Assert.assertEquals(field, clone);
+    Assert.assertNotEquals(other, clone);
+  }
+
+  @Test
+  public void testPeekDoesNotCopyClones() {
+    Map<String, Field> map = new LinkedHashMap<>();
+    map.put("a", Field.create(1));
+    map.put("b", Field.create(ImmutableList.of(Field.create("x"), Field.create("y"))));
+    Field field = Field.create(map);
+    int hash = field.hashCode();
+
+    Field clone = field.clone();
+    Assert.assertEquals(map, clone.peekValueAsMap());
+    Assert.assertSame(field.readMap(), clone.readMap());
+    Field list = clone.peekValueAsMap().get("b");
+    Assert.assertSame(list.readList(), field.readMap().get("b").readList());
+    Assert.assertEquals(hash, clone.hashCode());
+
+    // handing out the value copies it
+    Map<String, Field> value = clone.getValueAsMap();
+    Assert.assertNotSame(field.readMap(), value);
+    Assert.assertSame(value, clone.readMap());
+    Assert.assertEquals(field, clone);
+  }
+
+  @Test
+  public void testPeekIsUnmodifiable() {
+    Map<String, Field> map = new LinkedHashMap<>();
+    map.put("a", Field.create(1));
+    Field field = Field.create(map);
+    Field list = Field.create(ImmutableList.of(Field.create("x")));
+    try {
+      field.peekValueAsMap().put("b", Field.create(2));
+      Assert.fail();
+    } catch (UnsupportedOperationException ex) {
+      // expected
+    }
+    try {
+      list.peekValueAsList().add(Field.create("y"));
+      Assert.fail();
+    } catch (UnsupportedOperationException ex) {
+      // expected
+    }
+    Assert.assertEquals(1, field.getValueAsMap().size());
+    Assert.assertEquals(1, list.getValueAsList().size());
+    Assert.assertNull(Field.create(Type.MAP, null).peekValueAsMap());
+    Assert.assertNull(Field.create(Type.LIST, null).peekValueAsList());
+  }
+
+  @Test
+  public void testFingerprint() {
+    Map<String, Field> map = new LinkedHashMap<>();
+    map.put("a", Field.create(1));
+    map.put("b", Field.create(ImmutableList.of(Field.create("x"), Field.create(new byte[]{1, 2}))));
+    map.put("c", Field.create(Type.DECIMAL, null));
+    Map<String, Field> reversed = new LinkedHashMap<>();
+    reversed.put("c", Field.create(Type.DECIMAL, null));
+    reversed.put("b", Field.create(ImmutableList.of(Field.create("x"), Field.create(new byte[]{1, 2}))));
+    reversed.put("a", Field.create(Type.INTEGER, "1"));
+
+    Field field = Field.create(map);
+    long fingerprint = field.getFingerprint();
+    Assert.assertEquals(fingerprint, field.getFingerprint());
+    Assert.assertEquals(fingerprint, field.clone().getFingerprint());
+    Assert.assertEquals(fingerprint, Field.create(reversed).getFingerprint());
+    Assert.assertNotEquals(fingerprint, Field.createListMap(new LinkedHashMap<>(map)).getFingerprint());
+
+    field.getValueAsMap().put("d", Field.create(true));
+    Assert.assertNotEquals(fingerprint, field.getFingerprint());
+    field.getValueAsMap().remove("d");
+    Assert.assertEquals(fingerprint, field.getFingerprint());
+
+    Assert.assertEquals(Field.create(Float.NaN).getFingerprint(), Field.create(Type.FLOAT, Float.NaN).getFingerprint());
+    Assert.assertNotEquals(Field.create(0.0d).getFingerprint(), Field.create(-0.0d).getFingerprint());
+    Assert.assertNotEquals(Field.create(1).getFingerprint(), Field.create(1L).getFingerprint());
+    Assert.assertNotEquals(Field.create(Type.STRING, null).getFingerprint(), Field.create("").getFingerprint());
+    Assert.assertNotEquals(
+        Field.create(ImmutableList.of(Field.create("a"), Field.create("b"))).getFingerprint(),
+        Field.create(ImmutableList.of(Field.create("b"), Field.create("a"))).getFingerprint()
+    );
+  }
+
+  @Test
+  public void testFingerprintIsNotHashCode() {
+    // 31 * 1 + 31 == 31 * 2 + 0
+    BigDecimal d1 = new BigDecimal(BigInteger.ONE, 31);
+    BigDecimal d2 = new BigDecimal(BigInteger.valueOf(2), 0);
+    Assert.assertEquals(d1.hashCode(), d2.hashCode());
+    Assert.assertNotEquals(Field.create(d1).getFingerprint(), Field.create(d2).getFingerprint());
+    Assert.assertEquals(Field.create(d1).getFingerprint(), Field.create(new BigDecimal("1E-31")).getFingerprint());
+    Assert.assertNotEquals(
+        Field.create(new BigDecimal("1.0")).getFingerprint(),
+        Field.create(new BigDecimal("1.00")).getFingerprint()
+    );
+
+    ZonedDateTime utc = ZonedDateTime.of(2020, 1, 2, 3, 4, 5, 6, ZoneId.of("UTC"));
+    Assert.assertEquals(
+        Field.createZonedDateTime(utc).getFingerprint(),
+        Field.createZonedDateTime(ZonedDateTime.parse(utc.toString())).getFingerprint()
+    );
+    Assert.assertNotEquals(
+        Field.createZonedDateTime(utc).getFingerprint(),
+        Field.createZonedDateTime(utc.withZoneSameInstant(ZoneId.of("Europe/Paris"))).getFingerprint()
+    );
+    Assert.assertNotEquals(
+        Field.createZonedDateTime(utc).getFingerprint(),
+        Field.createZonedDateTime(utc.plusNanos(1)).getFingerprint()
+    );
+
+    Assert.assertEquals(Field.create('a').getFingerprint(), Field.create(Type.CHAR, "a").getFingerprint());
+    Assert.assertNotEquals(Field.create('a').getFingerprint(), Field.create('b').getFingerprint());
+  }
+
+  @Test
+  public void testPrimitiveValues() {
+    Object[] values = {
+        true, false, (byte) -3, (short) 300, Integer.MIN_VALUE, 123456, Long.MAX_VALUE, -1L, 1.5e10f, -0.0f, Float.NaN,
+        1e20d, -2.75d, Double.NaN, Double.NEGATIVE_INFINITY
+    };
+    for (Object value : values) {
+      Type type = Type.valueOf(value.getClass().getSimpleName().toUpperCase());
+      Field field = Field.create(type, value);
+      Assert.assertEquals(value, field.getValue());
+      Assert.assertEquals(value.getClass(), field.getValue().getClass());
+      Assert.assertEquals(value.hashCode(), field.hashCode());
+      Assert.assertEquals("Field[" + type + ":" + value + "]", field.toString());
+
+      Field clone = field.clone();
+      Assert.assertEquals(field, clone);
+      Assert.assertEquals(field.hashCode(), clone.hashCode());
+      Assert.assertEquals(value, clone.getValue());
+
+      Assert.assertEquals(new BooleanTypeSupport().convert(value), field.getValueAsBoolean());
+      if (type != Type.BOOLEAN) {
+        Assert.assertEquals(new ByteTypeSupport().convert(value), (Byte) field.getValueAsByte());
+        Assert.assertEquals(new ShortTypeSupport().convert(value), (Short) field.getValueAsShort());
+        Assert.assertEquals(new IntegerTypeSupport().convert(value), (Integer) field.getValueAsInteger());
+        Assert.assertEquals(new LongTypeSupport().convert(value), (Long) field.getValueAsLong());
+        Assert.assertEquals(new FloatTypeSupport().convert(value), (Float) field.getValueAsFloat());
+        Assert.assertEquals(new DoubleTypeSupport().convert(value), (Double) field.getValueAsDouble());
+        if (Double.isFinite(((Number) value).doubleValue())) {
+          Assert.assertEquals(new DecimalTypeSupport().convert(value), field.getValueAsDecimal());
+        }
+      }
+      Assert.assertEquals(value.toString(), field.getValueAsString());
+    }
+
+    Assert.assertEquals(Field.create(1), Field.create(Type.INTEGER, "1"));
+    Assert.assertEquals(Field.create(1.0f), Field.create(Type.FLOAT, 1.0f));
+    Assert.assertNotEquals(Field.create(1), Field.create(1L));
+    Assert.assertNotEquals(Field.create(0.0d), Field.create(-0.0d));
+    Assert.assertNotEquals(Field.create(Type.INTEGER, null), Field.create(0));
+    Assert.assertEquals(Field.create(Type.INTEGER, null), Field.create(Type.INTEGER, null));
+    Assert.assertNull(Field.create(Type.LONG, null).getValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPrimitiveBooleanAsLong() {
+    Field.create(true).getValueAsLong();
+  }
+
+  @Test
+  public void testByteArrayViews() {
+    byte[] bytes = {1, 2, 3, 4};
+    Field field = Field.createByteArrayByRef(bytes);
+    Assert.assertEquals(Type.BYTE_ARRAY, field.getType());
+    Assert.assertEquals(Field.create(bytes), field);
+
+    ByteBuffer buffer = field.getValueAsByteBuffer();
+    Assert.assertTrue(buffer.isReadOnly());
+    Assert.assertEquals(ByteBuffer.wrap(bytes), buffer);
+    try {
+      buffer.put(0, (byte) 0);
+      Assert.fail();
+    } catch (ReadOnlyBufferException ex) {
+      // expected
+    }
+    buffer.position(2);
+    Assert.assertEquals(3, buffer.slice().get(0));
+
+    // the value is not copied by the view, clones copy arrays taken by reference as they belong to the caller
+    Field clone = field.clone();
+    bytes[0] = 9;
+    Assert.assertEquals(9, field.getValueAsByteBuffer().get(0));
+    Assert.assertEquals(1, clone.getValueAsByteBuffer().get(0));
+    Assert.assertEquals(1, clone.clone().getValueAsByteBuffer().get(0));
+
+    // but handed out arrays are still copies
+    field.getValueAsByteArray()[1] = 9;
+    Assert.assertEquals(2, field.getValueAsByteBuffer().get(1));
+
+    Assert.assertNull(Field.create(Type.BYTE_ARRAY, null).getValueAsByteBuffer());
+  }
+
+  @Test
+  public void testByteArrayByRefClones() throws Exception {
+    byte[] bytes = {1, 2, 3, 4};
+    Field field = CreateByRef.call(() -> Field.create(bytes));
+    Field clone = field.clone();
+    Field byRefClone = CreateByRef.call(field::clone);
+    bytes[0] = 9;
+    Assert.assertEquals(9, field.getValueAsByteBuffer().get(0));
+    Assert.assertEquals(1, clone.getValueAsByteBuffer().get(0));
+    Assert.assertEquals(9, byRefClone.getValueAsByteBuffer().get(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testByteBufferFromOtherType() {
+    Field.create("a").getValueAsByteBuffer();
+  }
+
+  @Test
+  public void testDateValues() throws Exception {
+    Date date = new Date(1500000000123L);
+    for (Type type : new Type[] {Type.DATE, Type.DATETIME, Type.TIME}) {
+      Field field = Field.create(type, new java.sql.Timestamp(date.getTime()));
+      Assert.assertEquals(date.getTime(), field.getValueAsEpochMillis());
+      Assert.assertEquals(date.getTime(), field.getValueAsLong());
+      Assert.assertEquals(Date.class, field.getValue().getClass());
+      Assert.assertEquals(date, field.getValue());
+      Assert.assertEquals(date, field.getValueAsDate());
+      Assert.assertEquals(date, field.getValueAsDatetime());
+      Assert.assertEquals(date, field.getValueAsTime());
+      Assert.assertEquals(date.toString(), field.getValueAsString());
+      Assert.assertEquals(date.hashCode(), field.hashCode());
+      Assert.assertEquals("Field[" + type + ":" + date + "]", field.toString());
+      Assert.assertEquals(field, field.clone());
+
+      // handed out dates are copies
+      Assert.assertNotSame(field.getValue(), field.getValue());
+      field.getValueAsDate().setTime(0);
+      ((Date) field.getValue()).setTime(0);
+      Assert.assertEquals(date.getTime(), field.getValueAsEpochMillis());
+
+      try {
+        field.getValueAsInteger();
+        Assert.fail();
+      } catch (IllegalArgumentException ex) {
+        // expected
+      }
+    }
+
+    Assert.assertEquals(Field.createDate(date), Field.createDate(date.getTime()));
+    Assert.assertEquals(Field.createDatetime(date), Field.createDatetime(date.getTime()));
+    Assert.assertEquals(Field.createTime(date), Field.createTime(date.getTime()));
+    Assert.assertNotEquals(Field.createDate(date), Field.createDatetime(date));
+    Assert.assertNotEquals(Field.createDate(date), Field.create(Type.DATE, null));
+    Assert.assertNull(Field.create(Type.DATE, null).getValue());
+    Assert.assertNull(Field.create(Type.DATE, null).getValueAsDate());
+
+    Assert.assertEquals(date.getTime(), Field.create(date.getTime()).getValueAsEpochMillis());
+    Assert.assertEquals(Utils.parse("2017-07-14T02:40Z").getTime(),
+        Field.create("2017-07-14T02:40Z").getValueAsEpochMillis());
+  }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.streamsets.pipeline.api.impl.RecordTreeFieldBatch;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.streamsets.pipeline.api.MockRecords.record;
+
+public class TestFieldFilter {
+
+  // {"a": 1, "payload": {"b c": ["x", {"d": "y"}], "e": 2}, "f": "z"}
+  private static Field createTree() {
+    Map<String, Field> inner = new LinkedHashMap<>();
+    inner.put("d", Field.create("y"));
+    List<Field> list = new ArrayList<>();
+    list.add(Field.create("x"));
+    list.add(Field.create(inner));
+    LinkedHashMap<String, Field> payload = new LinkedHashMap<>();
+    payload.put("b c", Field.create(list));
+    payload.put("e", Field.create(2));
+    LinkedHashMap<String, Field> root = new LinkedHashMap<>();
+    root.put("a", Field.create(1));
+    root.put("payload", Field.createListMap(payload));
+    root.put("f", Field.create("z"));
+    return Field.createListMap(root);
+  }
+
+  private static List<String> visit(FieldFilter filter, Record record) throws StageException {
+    final List<String> visited = new ArrayList<>();
+    filter.visit(record, recordField -> {
+      visited.add(recordField.getFieldPath());
+      FieldPath path = FieldPath.parse(recordField.getFieldPath());
+      Assert.assertSame(recordField.getField(), path.find(record.get(), path.getDepth()));
+      Assert.assertEquals(FieldPath.parse(recordField.getFieldPath()).getFieldName(), recordField.getFieldName());
+      Assert.assertSame(record, recordField.getRecord());
+    });
+    return visited;
+  }
+
+  @Test
+  public void testAll() throws StageException {
+    Assert.assertEquals(
+        ImmutableList.of("", "/a", "/payload", "/payload/'b c'", "/payload/'b c'[0]", "/payload/'b c'[1]",
+            "/payload/'b c'[1]/d", "/payload/e", "/f"),
+        visit(FieldFilter.ALL, record(createTree()))
+    );
+    Assert.assertEquals(ImmutableList.of(), visit(FieldFilter.ALL, record(null)));
+  }
+
+  @Test
+  public void testTypes() throws StageException {
+    Record record = record(createTree());
+    Assert.assertEquals(
+        ImmutableList.of("/payload/'b c'[0]", "/payload/'b c'[1]/d", "/f"),
+        visit(FieldFilter.ALL.withTypes(Field.Type.STRING), record)
+    );
+    Assert.assertEquals(
+        ImmutableList.of("/a", "/payload/'b c'", "/payload/e"),
+        visit(FieldFilter.ALL.withTypes(ImmutableSet.of(Field.Type.INTEGER, Field.Type.LIST)), record)
+    );
+    Assert.assertEquals(ImmutableSet.of(Field.Type.STRING), FieldFilter.ALL.withTypes(Field.Type.STRING).getTypes());
+    Assert.assertNull(FieldFilter.ALL.getTypes());
+  }
+
+  @Test
+  public void testPathPrefix() throws StageException {
+    Record record = record(createTree());
+    Assert.assertEquals(
+        ImmutableList.of("/payload/'b c'[0]", "/payload/'b c'[1]/d"),
+        visit(FieldFilter.ALL.withTypes(Field.Type.STRING).withPathPrefix("/payload"), record)
+    );
+    Assert.assertEquals(
+        ImmutableList.of("/payload/'b c'[1]", "/payload/'b c'[1]/d"),
+        visit(FieldFilter.ALL.withPathPrefix("/payload/'b c'[1]"), record)
+    );
+    Assert.assertEquals(ImmutableList.of(), visit(FieldFilter.ALL.withPathPrefix("/missing"), record));
+    Assert.assertEquals(ImmutableList.of(), visit(FieldFilter.ALL.withPathPrefix("/a/b"), record));
+  }
+
+  @Test
+  public void testMaxDepth() throws StageException {
+    Record record = record(createTree());
+    Assert.assertEquals(ImmutableList.of(""), visit(FieldFilter.ALL.withMaxDepth(0), record));
+    Assert.assertEquals(ImmutableList.of("", "/a", "/payload", "/f"), visit(FieldFilter.ALL.withMaxDepth(1), record));
+    Assert.assertEquals(
+        ImmutableList.of("/payload/'b c'[0]"),
+        visit(FieldFilter.ALL.withPathPrefix("/payload").withMaxDepth(3).withTypes(Field.Type.STRING), record)
+    );
+    Assert.assertEquals(ImmutableList.of(), visit(FieldFilter.ALL.withPathPrefix("/payload").withMaxDepth(0), record));
+  }
+
+  @Test
+  public void testParents() throws StageException {
+    Field root = createTree();
+    final List<String> visited = new ArrayList<>();
+    FieldFilter.ALL.withTypes(Field.Type.STRING).visit(record(root), recordField -> {
+      FieldPath parentPath = FieldPath.parse(recordField.getParentFieldPath());
+      Field parent = parentPath.find(root, parentPath.getDepth());
+      Assert.assertSame(parent, recordField.getParentField());
+      visited.add(recordField.getParentFieldPath() + " " + recordField.getIndexInParent());
+    });
+    Assert.assertEquals(ImmutableList.of("/payload/'b c' 0", "/payload/'b c'[1] -1", " -1"), visited);
+  }
+
+  @Test
+  public void testBatch() throws StageException {
+    Record record1 = record(createTree());
+    Record record2 = record(Field.create("w"));
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(ImmutableList.of(record1, record2).iterator());
+    final List<String> visited = new ArrayList<>();
+    FieldFilter.ALL.withTypes(Field.Type.STRING).visit(batch, recordField ->
+        visited.add(recordField.getField().getValueAsString())
+    );
+    Assert.assertEquals(ImmutableList.of("x", "y", "z", "w"), visited);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeMaxDepth() {
+    FieldFilter.ALL.withMaxDepth(-1);
+  }
+
+  @Test
+  public void testModifyingCloneDoesNotModifyOriginal() throws StageException {
+    Field original = createTree();
+    Field clone = original.clone();
+    FieldFilter.ALL.withTypes(Field.Type.STRING).withPathPrefix("/payload").visit(record(clone), recordField ->
+        recordField.getField().setAttribute("masked", "true")
+    );
+    FieldFilter.ALL.withTypes(Field.Type.LIST).visit(record(clone), recordField ->
+        recordField.getField().getValueAsList().set(0, Field.create("***"))
+    );
+    FieldFilter.ALL.withTypes(Field.Type.LIST_MAP).visit(record(clone), recordField ->
+        recordField.getField().getValueAsMap().put("added", Field.create(true))
+    );
+
+    Assert.assertEquals(createTree(), original);
+    Field d = FieldPath.parse("/payload/'b c'[1]/d").get(original);
+    Assert.assertEquals("y", d.getValueAsString());
+    Assert.assertNull(d.getAttributes());
+    Assert.assertFalse(original.getValueAsMap().containsKey("added"));
+
+    Assert.assertEquals("true", FieldPath.parse("/payload/'b c'[1]/d").get(clone).getAttribute("masked"));
+    Assert.assertEquals("***", FieldPath.parse("/payload/'b c'[0]").get(clone).getValueAsString());
+    Assert.assertTrue(clone.getValueAsMap().containsKey("added"));
+  }
+
+  @Test
+  public void testReadOnlyWalkOfCloneDoesNotCopy() throws StageException {
+    Field original = createTree();
+    Field clone = original.clone();
+    Record record = record(clone);
+    RecordTreeFieldBatch fields = new RecordTreeFieldBatch(FieldPath.ROOT, Integer.MAX_VALUE, true);
+    fields.reset(record);
+    int visited = 0;
+    while (fields.next()) {
+      visited++;
+    }
+    Assert.assertEquals(9, visited);
+    // Record.has(FieldPath)
+    Assert.assertTrue(FieldPath.parse("/payload/'b c'[1]/d").has(record));
+    Assert.assertFalse(FieldPath.parse("/payload/'b c'[2]").has(record));
+
+    // the collections of the clone are still the ones of the original
+    Assert.assertSame(original.readMap(), clone.readMap());
+    Field payload = clone.readMap().get("payload");
+    Assert.assertSame(original.readMap().get("payload"), payload);
+    Assert.assertSame(
+        original.readMap().get("payload").readMap().get("b c").readList(),
+        payload.readMap().get("b c").readList()
+    );
+  }
+
+}
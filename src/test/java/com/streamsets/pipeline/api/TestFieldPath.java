@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.streamsets.pipeline.api.MockRecords.record;
+
+public class TestFieldPath {
+
+  @Test
+  public void testParse() {
+    Assert.assertSame(FieldPath.ROOT, FieldPath.parse(""));
+    Assert.assertTrue(FieldPath.ROOT.isRoot());
+    Assert.assertEquals("", FieldPath.ROOT.toString());
+
+    FieldPath path = FieldPath.parse("/a/b_1[2][10]/'c d'/\"e'f\"/'g\\'h'/''");
+    Assert.assertEquals(8, path.getDepth());
+    Assert.assertEquals("a", path.getName(0));
+    Assert.assertEquals("b_1", path.getName(1));
+    Assert.assertTrue(path.isIndex(2));
+    Assert.assertEquals(2, path.getIndex(2));
+    Assert.assertNull(path.getName(2));
+    Assert.assertEquals(10, path.getIndex(3));
+    Assert.assertEquals(-1, path.getIndex(4));
+    Assert.assertEquals("c d", path.getName(4));
+    Assert.assertEquals("e'f", path.getName(5));
+    Assert.assertEquals("g'h", path.getName(6));
+    Assert.assertEquals("", path.getName(7));
+    Assert.assertEquals("/a/b_1[2][10]/'c d'/'e\\'f'/'g\\'h'/''", path.toString());
+    Assert.assertEquals(path, FieldPath.parse(path.toString()));
+  }
+
+  @Test
+  public void testInvalid() {
+    for (String path : ImmutableList.of("a", "/a]", "/a[", "/a[]", "/a[x]", "/a[-1]", "/a[1", "/'a", "/'a'b",
+        "[99999999999]")) {
+      try {
+        FieldPath.parse(path);
+        Assert.fail(path);
+      } catch (InvalidFieldPathException ex) {
+        Assert.assertTrue(ex.getMessage(), ex.getMessage().contains(path));
+      }
+    }
+  }
+
+  @Test
+  public void testEscapeRoundTrip() {
+    for (String name : ImmutableList.of("a\\", "\\", "a\\'b", "\\'", "'", "\"", "a\"b'c", "x/y", "[0]", "a]", "b[",
+        "\\\\", "'\\\"/[]\\")) {
+      String escaped = FieldPath.escapeName(name);
+      FieldPath path = FieldPath.parse("/" + escaped + "[1]/" + escaped);
+      Assert.assertEquals(escaped, name, path.getName(0));
+      Assert.assertEquals(escaped, name, path.getName(2));
+      Assert.assertEquals(path, FieldPath.parse(path.toString()));
+      Assert.assertEquals(path, FieldPath.ROOT.child(name).child(1).child(name));
+    }
+    Assert.assertEquals("a\\", FieldPath.parse("/'a\\\\'").getName(0));
+    Assert.assertEquals("a\\b", FieldPath.parse("/'a\\b'").getName(0));
+  }
+
+  @Test
+  public void testBuild() {
+    FieldPath path = FieldPath.ROOT.child("a").child(1).child("x/y");
+    Assert.assertEquals("/a[1]/'x/y'", path.toString());
+    Assert.assertEquals(FieldPath.parse("/a[1]/\"x/y\""), path);
+    Assert.assertEquals(FieldPath.parse("/a[1]/\"x/y\"").hashCode(), path.hashCode());
+    Assert.assertNotEquals(FieldPath.parse("/a/'1'/'x/y'"), path);
+    Assert.assertEquals(FieldPath.parse("/a[1]"), path.getParent());
+    Assert.assertEquals(FieldPath.ROOT, path.getParent().getParent().getParent());
+    Assert.assertNull(FieldPath.ROOT.getParent());
+
+    // children of the same parent don't interfere with each other
+    FieldPath parent = FieldPath.parse("/a/b/c").getParent();
+    Assert.assertEquals("/a/b/x", parent.child("x").toString());
+    Assert.assertEquals("/a/b[0]", parent.child(0).toString());
+  }
+
+  @Test
+  public void testFieldName() {
+    Assert.assertEquals("", FieldPath.ROOT.getFieldName());
+    Assert.assertEquals("", FieldPath.parse("[1]").getFieldName());
+    Assert.assertEquals("inner", FieldPath.parse("/map/inner").getFieldName());
+    Assert.assertEquals("list", FieldPath.parse("/map/list[0]").getFieldName());
+    Assert.assertEquals("a/b", FieldPath.parse("/map/'a/b'[3]").getFieldName());
+  }
+
+  @Test
+  public void testGetSetDelete() {
+    Map<String, Field> map = new LinkedHashMap<>();
+    map.put("a b", Field.create(1));
+    map.put("list", Field.create(new ArrayList<>(ImmutableList.of(Field.create("x"), Field.create("y")))));
+    LinkedHashMap<String, Field> listMap = new LinkedHashMap<>();
+    listMap.put("k1", Field.create(1));
+    listMap.put("k2", Field.create(2));
+    map.put("listMap", Field.createListMap(listMap));
+    Field root = Field.create(map);
+    Record record = record(root);
+
+    Assert.assertSame(root, FieldPath.ROOT.get(root));
+    Assert.assertEquals(Field.create(1), FieldPath.parse("/'a b'").get(root));
+    Assert.assertEquals(Field.create("y"), FieldPath.parse("/list[1]").get(root));
+    Assert.assertNull(FieldPath.parse("/list[2]").get(root));
+    Assert.assertNull(FieldPath.parse("/list/x").get(root));
+    Assert.assertNull(FieldPath.parse("/'a b'/x").get(root));
+    Assert.assertEquals(Field.create(2), FieldPath.parse("/listMap[1]").get(root));
+    Assert.assertEquals(Field.create(2), FieldPath.parse("/listMap/k2").get(root));
+
+    Assert.assertEquals(Field.create(1), FieldPath.parse("/'a b'").set(record, Field.create(10)));
+    Assert.assertNull(FieldPath.parse("/new").set(record, Field.create(20)));
+    Assert.assertNull(FieldPath.parse("/list[2]").set(record, Field.create("z")));
+    Assert.assertEquals(Field.create("x"), FieldPath.parse("/list[0]").set(record, Field.create("w")));
+    Assert.assertEquals(Field.create(1), FieldPath.parse("/listMap[0]").set(record, Field.create(3)));
+    Assert.assertEquals(Field.create(10), root.getValueAsMap().get("a b"));
+    Assert.assertEquals(Field.create(20), root.getValueAsMap().get("new"));
+    Assert.assertEquals(
+        ImmutableList.of(Field.create("w"), Field.create("y"), Field.create("z")),
+        root.getValueAsMap().get("list").getValueAsList()
+    );
+    Assert.assertEquals(
+        ImmutableList.of("k1", "k2"),
+        new ArrayList<>(root.getValueAsMap().get("listMap").getValueAsListMap().keySet())
+    );
+    Assert.assertEquals(Field.create(3), FieldPath.parse("/listMap/k1").get(root));
+
+    for (String path : ImmutableList.of("/list[5]", "/x/y", "/list/x", "/'a b'[0]")) {
+      try {
+        FieldPath.parse(path).set(record, Field.create(0));
+        Assert.fail(path);
+      } catch (IllegalArgumentException ex) {
+        // expected
+      }
+    }
+
+    Assert.assertEquals(Field.create("y"), FieldPath.parse("/list[1]").delete(record));
+    Assert.assertNull(FieldPath.parse("/list[5]").delete(record));
+    Assert.assertEquals(Field.create(3), FieldPath.parse("/listMap[0]").delete(record));
+    Assert.assertEquals(Field.create(20), FieldPath.parse("/new").delete(record));
+    Assert.assertNull(FieldPath.parse("/new").delete(record));
+    Assert.assertNull(FieldPath.parse("/x/y").delete(record));
+    List<Field> list = root.getValueAsMap().get("list").getValueAsList();
+    Assert.assertEquals(ImmutableList.of(Field.create("w"), Field.create("z")), list);
+    Assert.assertEquals(
+        ImmutableList.of("k2"),
+        new ArrayList<>(root.getValueAsMap().get("listMap").getValueAsListMap().keySet())
+    );
+
+    FieldPath.ROOT.delete(record);
+    Mockito.verify(record).set((Field) null);
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestLaneHandle {
+
+  @Test
+  public void testHandles() {
+    List<LaneHandle> handles = LaneHandle.of(ImmutableList.of("a", "b"));
+    Assert.assertEquals(2, handles.size());
+    Assert.assertEquals("a", handles.get(0).getLane());
+    Assert.assertEquals(0, handles.get(0).getIndex());
+    Assert.assertEquals("b", handles.get(1).getLane());
+    Assert.assertEquals(1, handles.get(1).getIndex());
+    Assert.assertArrayEquals(new String[]{"b"}, handles.get(1).toArray());
+    Assert.assertSame(handles.get(1).toArray(), handles.get(1).toArray());
+  }
+
+  @Test
+  public void testAddRecord() {
+    final List<String> added = new ArrayList<>();
+    BatchMaker batchMaker = new BatchMaker() {
+      @Override
+      public List<String> getLanes() {
+        return ImmutableList.of("a", "b");
+      }
+
+      @Override
+      public void addRecord(Record record, String... lanes) {
+        Assert.assertEquals(1, lanes.length);
+        added.add(lanes[0]);
+      }
+    };
+    List<LaneHandle> handles = LaneHandle.of(batchMaker.getLanes());
+    batchMaker.addRecordToLane(null, handles.get(1));
+    batchMaker.addRecordToLane(null, handles.get(0));
+    batchMaker.addRecordToLane(null, handles.get(1));
+    Assert.assertEquals(ImmutableList.of("b", "a", "b"), added);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullLane() {
+    LaneHandle.of(new ArrayList<String>() {{ add(null); }});
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.streamsets.pipeline.api.Stage;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestAdaptiveBatchSize {
+
+  private double headroom = 1;
+
+  private AdaptiveBatchSize create(Stage.Context context) {
+    return new AdaptiveBatchSize(context, 10, 1000, 100, 0.2, () -> headroom);
+  }
+
+  @Test
+  public void testGrowsUnderTargetLatency() {
+    AdaptiveBatchSize size = create(Mockito.mock(Stage.Context.class));
+    Assert.assertEquals(10, size.nextBatchSize(1000));
+
+    // 1ms per record, 100 records fit in the target, at most doubling per batch
+    size.batchProcessed(10, 10);
+    Assert.assertEquals(20, size.nextBatchSize(1000));
+    size.batchProcessed(20, 20);
+    Assert.assertEquals(40, size.nextBatchSize(1000));
+    size.batchProcessed(40, 40);
+    Assert.assertEquals(80, size.nextBatchSize(1000));
+    size.batchProcessed(80, 80);
+    Assert.assertEquals(100, size.nextBatchSize(1000));
+    size.batchProcessed(100, 100);
+    Assert.assertEquals(100, size.nextBatchSize(1000));
+
+    // produce max batch size caps
+    Assert.assertEquals(50, size.nextBatchSize(50));
+  }
+
+  @Test
+  public void testShrinksOverTargetLatency() {
+    AdaptiveBatchSize size = create(Mockito.mock(Stage.Context.class));
+    for (int i = 0; i < 20; i++) {
+      size.batchProcessed(size.nextBatchSize(1000), 0);
+    }
+    Assert.assertEquals(1000, size.nextBatchSize(1000));
+
+    // 2ms per record, at most halving per batch
+    size.batchProcessed(1000, 2000);
+    Assert.assertEquals(500, size.nextBatchSize(1000));
+    for (int i = 0; i < 20; i++) {
+      int records = size.nextBatchSize(1000);
+      size.batchProcessed(records, records * 2);
+    }
+    Assert.assertEquals(50, size.nextBatchSize(1000));
+
+    // never under the minimum
+    for (int i = 0; i < 10; i++) {
+      size.batchProcessed(size.nextBatchSize(1000), 100000);
+    }
+    Assert.assertEquals(10, size.nextBatchSize(1000));
+  }
+
+  @Test
+  public void testMemoryHeadroom() {
+    AdaptiveBatchSize size = create(Mockito.mock(Stage.Context.class));
+    for (int i = 0; i < 20; i++) {
+      size.batchProcessed(size.nextBatchSize(1000), 0);
+    }
+    headroom = 0.1;
+    Assert.assertEquals(500, size.nextBatchSize(1000));
+    Assert.assertEquals(250, size.nextBatchSize(1000));
+    headroom = 0.5;
+    Assert.assertEquals(250, size.nextBatchSize(1000));
+  }
+
+  @Test
+  public void testBacklog() {
+    AdaptiveBatchSize size = create(Mockito.mock(Stage.Context.class));
+    for (int i = 0; i < 20; i++) {
+      size.batchProcessed(size.nextBatchSize(1000), 0);
+    }
+    size.setBacklog(300);
+    Assert.assertEquals(300, size.nextBatchSize(1000));
+    size.setBacklog(0);
+    Assert.assertEquals(10, size.nextBatchSize(1000));
+    size.setBacklog(-1);
+    Assert.assertEquals(1000, size.nextBatchSize(1000));
+  }
+
+  @Test
+  public void testLatencyFromLastBatchTime() {
+    Stage.Context context = Mockito.mock(Stage.Context.class);
+    AdaptiveBatchSize size = create(context);
+
+    // completed before the batch was produced, not the batch latency
+    Mockito.when(context.getLastBatchTime()).thenReturn(1L);
+    size.batchProduced(10);
+    Assert.assertEquals(10, size.nextBatchSize(1000));
+
+    // about 2ms per record, at most doubling per batch
+    size.batchProduced(10);
+    Mockito.when(context.getLastBatchTime()).thenReturn(System.currentTimeMillis() + 20);
+    Assert.assertEquals(20, size.nextBatchSize(1000));
+
+    // the latency of a batch is only taken once
+    Mockito.when(context.getLastBatchTime()).thenReturn(System.currentTimeMillis() + 100000);
+    Assert.assertEquals(20, size.nextBatchSize(1000));
+  }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.streamsets.pipeline.api.BatchContext;
+import com.streamsets.pipeline.api.DeliveryGuarantee;
+import com.streamsets.pipeline.api.PushSource;
+import com.streamsets.pipeline.api.StageException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class TestAsyncBatchSubmitter {
+
+  private final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+
+  private PushSource.Context createContext(DeliveryGuarantee guarantee) {
+    PushSource.Context context = Mockito.mock(PushSource.Context.class);
+    Mockito.when(context.getDeliveryGuarantee()).thenReturn(guarantee);
+    Mockito.when(context.processBatchAsync(Mockito.any(BatchContext.class))).thenAnswer(invocation -> {
+      CompletableFuture<Boolean> future = new CompletableFuture<>();
+      futures.add(future);
+      return future;
+    });
+    return context;
+  }
+
+  @Test
+  public void testCommitsInSubmissionOrder() throws StageException {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_LEAST_ONCE);
+    AsyncBatchSubmitter submitter = new AsyncBatchSubmitter(context);
+
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "1");
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "2");
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "3");
+    Assert.assertEquals(3, submitter.getInFlight());
+
+    futures.get(2).complete(true);
+    futures.get(1).complete(true);
+    Mockito.verify(context, Mockito.never()).commitOffset(Mockito.anyString(), Mockito.anyString());
+
+    futures.get(0).complete(true);
+    Assert.assertTrue(submitter.awaitAll());
+    Assert.assertEquals(0, submitter.getInFlight());
+
+    InOrder inOrder = Mockito.inOrder(context);
+    inOrder.verify(context).commitOffset("e", "1");
+    inOrder.verify(context).commitOffset("e", "2");
+    inOrder.verify(context).commitOffset("e", "3");
+  }
+
+  @Test
+  public void testCompletedBatchesAreCommittedOnNextSubmit() throws StageException {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_LEAST_ONCE);
+    AsyncBatchSubmitter submitter = new AsyncBatchSubmitter(context);
+
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "1");
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "2");
+    futures.get(0).complete(true);
+    futures.get(1).complete(true);
+
+    // the completed batches are committed on the next submit, only the new one remains in flight
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "3");
+    Assert.assertEquals(1, submitter.getInFlight());
+    Mockito.verify(context).commitOffset("e", "1");
+    Mockito.verify(context).commitOffset("e", "2");
+    Mockito.verify(context, Mockito.never()).commitOffset("e", "3");
+  }
+
+  @Test
+  public void testCompletedBatchesAreCommittedOnSubmit() throws StageException {
+    PushSource.Context context = Mockito.mock(PushSource.Context.class);
+    Mockito.when(context.getDeliveryGuarantee()).thenReturn(DeliveryGuarantee.AT_LEAST_ONCE);
+    Mockito.when(context.processBatchAsync(Mockito.any(BatchContext.class)))
+        .thenReturn(CompletableFuture.completedFuture(true));
+    AsyncBatchSubmitter submitter = new AsyncBatchSubmitter(context);
+
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "1");
+    Assert.assertEquals(0, submitter.getInFlight());
+    Mockito.verify(context).commitOffset("e", "1");
+  }
+
+  @Test
+  public void testAtMostOnceCommitsBeforeProcessing() throws StageException {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_MOST_ONCE);
+    AsyncBatchSubmitter submitter = new AsyncBatchSubmitter(context);
+
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "1");
+    InOrder inOrder = Mockito.inOrder(context);
+    inOrder.verify(context).commitOffset("e", "1");
+    inOrder.verify(context).processBatchAsync(Mockito.any(BatchContext.class));
+
+    futures.get(0).complete(false);
+    Assert.assertFalse(submitter.awaitAll());
+    Mockito.verify(context, Mockito.times(1)).commitOffset("e", "1");
+  }
+
+  @Test
+  public void testFailedBatchStopsCommits() throws StageException {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_LEAST_ONCE);
+    AsyncBatchSubmitter submitter = new AsyncBatchSubmitter(context);
+
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "1");
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "2");
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "3");
+    futures.get(0).complete(true);
+    futures.get(1).complete(false);
+    futures.get(2).complete(true);
+
+    Assert.assertFalse(submitter.awaitAll());
+    Assert.assertTrue(submitter.hasFailed());
+    Mockito.verify(context).commitOffset("e", "1");
+    Mockito.verify(context, Mockito.never()).commitOffset("e", "2");
+    Mockito.verify(context, Mockito.never()).commitOffset("e", "3");
+  }
+
+  @Test
+  public void testBatchException() throws StageException {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_LEAST_ONCE);
+    AsyncBatchSubmitter submitter = new AsyncBatchSubmitter(context);
+
+    submitter.submit(Mockito.mock(BatchContext.class), "e", "1");
+    futures.get(0).completeExceptionally(new RuntimeException("boom"));
+    try {
+      submitter.awaitAll();
+      Assert.fail();
+    } catch (StageException ex) {
+      Assert.assertEquals(Errors.API_30, ex.getErrorCode());
+    }
+    Assert.assertTrue(submitter.hasFailed());
+    Assert.assertEquals(0, submitter.getInFlight());
+    Mockito.verify(context, Mockito.never()).commitOffset(Mockito.anyString(), Mockito.anyString());
+  }
+
+}
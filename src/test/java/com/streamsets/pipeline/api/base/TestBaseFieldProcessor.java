@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.streamsets.pipeline.api.Batch;
+import com.streamsets.pipeline.api.BatchMaker;
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.FieldBatch;
+import com.streamsets.pipeline.api.OnRecordError;
+import com.streamsets.pipeline.api.Processor;
+import com.streamsets.pipeline.api.Record;
+import com.streamsets.pipeline.api.Stage;
+import com.streamsets.pipeline.api.StageException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static com.streamsets.pipeline.api.MockRecords.record;
+
+public class TestBaseFieldProcessor {
+
+  private static Field map(String a, int b) {
+    LinkedHashMap<String, Field> map = new LinkedHashMap<>();
+    map.put("a", Field.create(a));
+    map.put("b", Field.create(b));
+    return Field.createListMap(map);
+  }
+
+  private static Processor.Context context(OnRecordError onRecordError) {
+    Processor.Context context = Mockito.mock(Processor.Context.class);
+    Mockito.when(context.getOutputLanes()).thenReturn(ImmutableList.of("l"));
+    Mockito.when(context.getOnErrorRecord()).thenReturn(onRecordError);
+    return context;
+  }
+
+  private static class UpperCaseProcessor extends BaseFieldProcessor {
+    private final List<Field.Type> visited = new ArrayList<>();
+
+    @Override
+    protected Set<Field.Type> getFieldTypes() {
+      return ImmutableSet.of(Field.Type.STRING);
+    }
+
+    @Override
+    public void process(FieldBatch batch) throws StageException {
+      while (batch.next()) {
+        visited.add(batch.getField().getType());
+        String value = batch.getField().getValueAsString();
+        if (value.equals("fail")) {
+          throw new OnRecordErrorException(Errors.API_00, "fail");
+        }
+        batch.replace(Field.create(value.toUpperCase()));
+      }
+    }
+  }
+
+  @Test
+  public void testProcess() throws Exception {
+    Field field1 = map("x", 1);
+    Field field2 = map("y", 2);
+    Record record1 = record(field1);
+    Record record2 = record(field2);
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(ImmutableList.of(record1, record2).iterator());
+    BatchMaker batchMaker = Mockito.mock(BatchMaker.class);
+
+    UpperCaseProcessor processor = new UpperCaseProcessor();
+    processor.init(Mockito.mock(Stage.Info.class), context(OnRecordError.TO_ERROR));
+    processor.process(batch, batchMaker);
+
+    Assert.assertEquals(ImmutableList.of(Field.Type.STRING, Field.Type.STRING), processor.visited);
+    Assert.assertEquals("X", field1.getValueAsListMap().get("a").getValueAsString());
+    Assert.assertEquals("Y", field2.getValueAsListMap().get("a").getValueAsString());
+    Assert.assertEquals(2, field2.getValueAsListMap().get("b").getValueAsInteger());
+    Mockito.verify(batchMaker).addRecord(record1);
+    Mockito.verify(batchMaker).addRecord(record2);
+
+    // the field batch is reused for the next batch
+    Mockito.when(batch.getRecords()).thenReturn(ImmutableList.<Record>of().iterator());
+    processor.process(batch, batchMaker);
+    Mockito.verifyNoMoreInteractions(batchMaker);
+  }
+
+  private void testOnRecordError(OnRecordError onRecordError) throws Exception {
+    Record record1 = record(map("x", 1));
+    Record record2 = record(map("fail", 2));
+    Record record3 = record(map("z", 3));
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(ImmutableList.of(record1, record2, record3).iterator());
+    BatchMaker batchMaker = Mockito.mock(BatchMaker.class);
+    Processor.Context context = context(onRecordError);
+
+    UpperCaseProcessor processor = new UpperCaseProcessor();
+    processor.init(Mockito.mock(Stage.Info.class), context);
+    try {
+      processor.process(batch, batchMaker);
+      Assert.assertNotEquals(OnRecordError.STOP_PIPELINE, onRecordError);
+    } catch (OnRecordErrorException ex) {
+      Assert.assertEquals(OnRecordError.STOP_PIPELINE, onRecordError);
+      Mockito.verifyZeroInteractions(batchMaker);
+      return;
+    }
+    Assert.assertEquals("Z", record3.get().getValueAsListMap().get("a").getValueAsString());
+    Mockito.verify(batchMaker).addRecord(record1);
+    Mockito.verify(batchMaker).addRecord(record3);
+    Mockito.verify(batchMaker, Mockito.never()).addRecord(record2);
+    if (onRecordError == OnRecordError.TO_ERROR) {
+      Mockito.verify(context).toError(Mockito.eq(record2), Mockito.any(OnRecordErrorException.class));
+    } else {
+      Mockito.verify(context, Mockito.never()).toError(Mockito.any(Record.class), Mockito.any(Exception.class));
+    }
+  }
+
+  @Test
+  public void testOnRecordErrorDiscard() throws Exception {
+    testOnRecordError(OnRecordError.DISCARD);
+  }
+
+  @Test
+  public void testOnRecordErrorToError() throws Exception {
+    testOnRecordError(OnRecordError.TO_ERROR);
+  }
+
+  @Test
+  public void testOnRecordErrorStopPipeline() throws Exception {
+    testOnRecordError(OnRecordError.STOP_PIPELINE);
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.google.common.collect.ImmutableList;
+import com.streamsets.pipeline.api.Batch;
+import com.streamsets.pipeline.api.OnRecordError;
+import com.streamsets.pipeline.api.Record;
+import com.streamsets.pipeline.api.Stage;
+import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.Target;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TestChunkedRecordTarget {
+
+  private static List<Record> records(int count) {
+    List<Record> records = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      records.add(Mockito.mock(Record.class));
+    }
+    return records;
+  }
+
+  private static Batch batch(List<Record> records) {
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(records.iterator());
+    return batch;
+  }
+
+  private static Target.Context context(OnRecordError onRecordError) {
+    Target.Context context = Mockito.mock(Target.Context.class);
+    Mockito.when(context.getOnErrorRecord()).thenReturn(onRecordError);
+    return context;
+  }
+
+  @Test
+  public void testChunksBySize() throws Exception {
+    List<Record> records = records(7);
+    final List<List<Record>> chunks = new ArrayList<>();
+    final boolean[] emptyBatch = new boolean[1];
+    Target target = new ChunkedRecordTarget() {
+      @Override
+      protected int getMaxChunkRecords() {
+        return 3;
+      }
+
+      @Override
+      protected List<OnRecordErrorException> write(List<Record> records) {
+        chunks.add(new ArrayList<>(records));
+        return null;
+      }
+
+      @Override
+      protected void emptyBatch() {
+        emptyBatch[0] = true;
+      }
+    };
+    target.write(batch(records));
+    Assert.assertEquals(
+        ImmutableList.of(records.subList(0, 3), records.subList(3, 6), records.subList(6, 7)),
+        chunks
+    );
+    Assert.assertFalse(emptyBatch[0]);
+
+    chunks.clear();
+    target.write(batch(Collections.<Record>emptyList()));
+    Assert.assertTrue(chunks.isEmpty());
+    Assert.assertTrue(emptyBatch[0]);
+  }
+
+  @Test
+  public void testChunksByBytes() throws Exception {
+    final List<Record> records = records(6);
+    final long[] sizes = {40, 40, 30, 150, 10, 100};
+    final List<Integer> chunkSizes = new ArrayList<>();
+    Target target = new ChunkedRecordTarget() {
+      @Override
+      protected long getMaxChunkBytes() {
+        return 100;
+      }
+
+      @Override
+      protected long getRecordSize(Record record) {
+        return sizes[records.indexOf(record)];
+      }
+
+      @Override
+      protected List<OnRecordErrorException> write(List<Record> records) {
+        chunkSizes.add(records.size());
+        return Collections.emptyList();
+      }
+    };
+    target.write(batch(records));
+    // 40 + 40 + 30 > 100, 150 alone, 10 + 100 > 100
+    Assert.assertEquals(ImmutableList.of(2, 1, 1, 1, 1), chunkSizes);
+  }
+
+  private Target.Context testPartialFailure(OnRecordError onRecordError, final List<Record> records)
+      throws Exception {
+    final List<Record> written = new ArrayList<>();
+    Target target = new ChunkedRecordTarget() {
+      @Override
+      protected int getMaxChunkRecords() {
+        return 2;
+      }
+
+      @Override
+      protected List<OnRecordErrorException> write(List<Record> chunk) throws StageException {
+        if (chunk.contains(records.get(4))) {
+          throw new OnRecordErrorException(TestRecordTarget.ERROR.ERR);
+        }
+        List<OnRecordErrorException> errors = new ArrayList<>();
+        for (Record record : chunk) {
+          if (record == records.get(1) || record == records.get(2)) {
+            errors.add(new OnRecordErrorException(record, TestRecordTarget.ERROR.ERR));
+          } else {
+            written.add(record);
+          }
+        }
+        return errors;
+      }
+    };
+    Target.Context context = context(onRecordError);
+    target.init(Mockito.mock(Stage.Info.class), context);
+    target.write(batch(records));
+    Assert.assertEquals(ImmutableList.of(records.get(0), records.get(3)), written);
+    return context;
+  }
+
+  @Test
+  public void testPartialFailureToError() throws Exception {
+    List<Record> records = records(6);
+    Target.Context context = testPartialFailure(OnRecordError.TO_ERROR, records);
+    ArgumentCaptor<Record> captor = ArgumentCaptor.forClass(Record.class);
+    Mockito.verify(context, Mockito.times(4)).toError(captor.capture(), (Exception) Mockito.any());
+    Assert.assertEquals(
+        ImmutableList.of(records.get(1), records.get(2), records.get(4), records.get(5)),
+        captor.getAllValues()
+    );
+  }
+
+  @Test
+  public void testPartialFailureDiscard() throws Exception {
+    Target.Context context = testPartialFailure(OnRecordError.DISCARD, records(6));
+    Mockito.verify(context, Mockito.never()).toError((Record) Mockito.any(), (Exception) Mockito.any());
+  }
+
+  @Test
+  public void testPartialFailureStopPipeline() throws Exception {
+    List<Record> records = records(6);
+    try {
+      testPartialFailure(OnRecordError.STOP_PIPELINE, records);
+      Assert.fail();
+    } catch (OnRecordErrorException ex) {
+      Assert.assertSame(records.get(1), ex.getRecord());
+    }
+  }
+
+}
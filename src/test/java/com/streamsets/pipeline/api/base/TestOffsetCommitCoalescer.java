@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.streamsets.pipeline.api.DeliveryGuarantee;
+import com.streamsets.pipeline.api.PushSource;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestOffsetCommitCoalescer {
+
+  private final MetricRegistry metrics = new MetricRegistry();
+  private final Map<String, Object> gaugeValues = new HashMap<>();
+
+  private PushSource.Context createContext(DeliveryGuarantee guarantee) {
+    PushSource.Context context = Mockito.mock(PushSource.Context.class);
+    Mockito.when(context.getDeliveryGuarantee()).thenReturn(guarantee);
+    Mockito.when(context.createTimer(Mockito.anyString())).then(i -> metrics.timer((String) i.getArguments()[0]));
+    Mockito.when(context.createCounter(Mockito.anyString())).then(i -> metrics.counter((String) i.getArguments()[0]));
+    Gauge<Map<String, Object>> gauge = () -> gaugeValues;
+    Mockito.when(context.createGauge(Mockito.anyString())).thenReturn(gauge);
+    return context;
+  }
+
+  @Test
+  public void testCoalescesLatestOffsetPerEntity() {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_LEAST_ONCE);
+    OffsetCommitCoalescer coalescer = new OffsetCommitCoalescer(context, 3, Long.MAX_VALUE / 1000000);
+
+    coalescer.commitOffset("a", "1");
+    coalescer.commitOffset("b", "1");
+    coalescer.commitOffset("a", "2");
+    coalescer.commitOffset("b", "2");
+    Assert.assertEquals(2, coalescer.getPending());
+    Mockito.verify(context, Mockito.never()).commitOffset(Mockito.anyString(), Mockito.anyString());
+
+    coalescer.commitOffset("c", null);
+    Assert.assertEquals(0, coalescer.getPending());
+    InOrder inOrder = Mockito.inOrder(context);
+    inOrder.verify(context).commitOffset("a", "2");
+    inOrder.verify(context).commitOffset("b", "2");
+    inOrder.verify(context).commitOffset("c", null);
+    Mockito.verifyNoMoreInteractions(Mockito.ignoreStubs(context));
+
+    Assert.assertEquals(5, metrics.counter(OffsetCommitCoalescer.REQUESTED_COUNTER).getCount());
+    Assert.assertEquals(3, metrics.counter(OffsetCommitCoalescer.PERSISTED_COUNTER).getCount());
+    Assert.assertEquals(1, metrics.timer(OffsetCommitCoalescer.LATENCY_TIMER).getCount());
+    Assert.assertEquals(5.0 / 3, (Double) gaugeValues.get(OffsetCommitCoalescer.COALESCING_RATIO), 0.0001);
+  }
+
+  @Test
+  public void testFlushOnDelay() {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_LEAST_ONCE);
+    OffsetCommitCoalescer coalescer = new OffsetCommitCoalescer(context, 100, 0);
+
+    coalescer.commitOffset("a", "1");
+    Assert.assertEquals(0, coalescer.getPending());
+    Mockito.verify(context).commitOffset("a", "1");
+  }
+
+  @Test
+  public void testFlush() {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_LEAST_ONCE);
+    OffsetCommitCoalescer coalescer = new OffsetCommitCoalescer(context, 100, Long.MAX_VALUE / 1000000);
+
+    coalescer.commitOffset("a", "1");
+    coalescer.flushIfDue();
+    Assert.assertEquals(1, coalescer.getPending());
+
+    coalescer.flush();
+    Assert.assertEquals(0, coalescer.getPending());
+    Mockito.verify(context).commitOffset("a", "1");
+
+    coalescer.flush();
+    Assert.assertEquals(1, metrics.timer(OffsetCommitCoalescer.LATENCY_TIMER).getCount());
+  }
+
+  @Test
+  public void testAtMostOnceCommitsRightAway() {
+    PushSource.Context context = createContext(DeliveryGuarantee.AT_MOST_ONCE);
+    OffsetCommitCoalescer coalescer = new OffsetCommitCoalescer(context, 100, Long.MAX_VALUE / 1000000);
+
+    coalescer.commitOffset("a", "1");
+    coalescer.commitOffset("a", "2");
+    Assert.assertEquals(0, coalescer.getPending());
+    InOrder inOrder = Mockito.inOrder(context);
+    inOrder.verify(context).commitOffset("a", "1");
+    inOrder.verify(context).commitOffset("a", "2");
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base;
+
+import com.streamsets.pipeline.api.ProducerExecutionMode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestProducerExecutors {
+
+  private void testProducersRunConcurrently(ProducerExecutionMode mode, int producers) throws Exception {
+    ExecutorService executor = ProducerExecutors.create(mode, "test-producer-");
+    try {
+      CountDownLatch started = new CountDownLatch(producers);
+      CountDownLatch release = new CountDownLatch(1);
+      for (int i = 0; i < producers; i++) {
+        executor.submit(() -> {
+          started.countDown();
+          release.await();
+          return null;
+        });
+      }
+      // all the producers run at the same time, none waits for a free thread
+      Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+      release.countDown();
+    } finally {
+      executor.shutdown();
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  public void testPlatformThreads() throws Exception {
+    testProducersRunConcurrently(ProducerExecutionMode.PLATFORM_THREADS, 20);
+  }
+
+  @Test
+  public void testVirtualThreads() throws Exception {
+    testProducersRunConcurrently(ProducerExecutionMode.VIRTUAL_THREADS, 500);
+  }
+
+  @Test
+  public void testThreadNames() throws Exception {
+    for (ProducerExecutionMode mode : ProducerExecutionMode.values()) {
+      ExecutorService executor = ProducerExecutors.create(mode, "test-producer-");
+      try {
+        Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+        Assert.assertEquals("test-producer-0", name.get(10, TimeUnit.SECONDS));
+        Future<Boolean> daemon = executor.submit(() -> Thread.currentThread().isDaemon());
+        Assert.assertTrue(daemon.get(10, TimeUnit.SECONDS));
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  // stands for Thread.ofVirtual() on JDK 19 and 20 without --enable-preview
+  static Object previewOfVirtual() {
+    throw new UnsupportedOperationException("Preview Features not enabled");
+  }
+
+  @Test
+  public void testProbeFailureFallsBack() throws Exception {
+    Method[] methods = {
+        TestProducerExecutors.class.getDeclaredMethod("previewOfVirtual"),
+        Object.class.getMethod("toString"),
+        Object.class.getMethod("toString"),
+        Object.class.getMethod("toString")
+    };
+    Assert.assertNull(ProducerExecutors.probeVirtualThreads(methods));
+    Assert.assertNull(ProducerExecutors.probeVirtualThreads(null));
+  }
+
+}
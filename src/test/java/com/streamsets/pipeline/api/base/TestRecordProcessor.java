@@ -15,6 +15,8 @@
  */
 package com.streamsets.pipeline.api.base;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.streamsets.pipeline.api.Batch;
 import com.streamsets.pipeline.api.BatchMaker;
@@ -31,7 +33,17 @@ import org.mockito.Mockito;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class TestRecordProcessor {
 
@@ -221,4 +233,218 @@ public class TestRecordProcessor {
     testOnErrorHandlingOtherException(OnRecordError.STOP_PIPELINE);
   }
 
+  private static class ParallelProcessor extends RecordProcessor {
+    private final List<Record> failing;
+    private final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+
+    ParallelProcessor(List<Record> failing) {
+      this.failing = failing;
+    }
+
+    @Override
+    protected int getRecordProcessingParallelism() {
+      return 4;
+    }
+
+    @Override
+    protected void process(Record record, BatchMaker bm) throws StageException {
+      threads.add(Thread.currentThread().getName());
+      if (failing.contains(record)) {
+        bm.addRecord(record, "partial");
+        throw new OnRecordErrorException(ERROR.ERR);
+      }
+      bm.addRecord(record, "l");
+    }
+  }
+
+  private void testParallel(OnRecordError onRecordError) throws Exception {
+    final List<Record> records = new ArrayList<>();
+    final List<Record> failing = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      records.add(Mockito.mock(Record.class));
+      if (i % 7 == 3) {
+        failing.add(records.get(i));
+      }
+    }
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(records.iterator());
+    final List<String> added = new ArrayList<>();
+    BatchMaker batchMaker = new BatchMaker() {
+      @Override
+      public List<String> getLanes() {
+        return ImmutableList.of("l", "partial");
+      }
+
+      @Override
+      public void addRecord(Record record, String... lanes) {
+        added.add(records.indexOf(record) + ":" + lanes[0]);
+      }
+    };
+
+    ParallelProcessor processor = new ParallelProcessor(failing);
+    Processor.Context context = Mockito.mock(Processor.Context.class);
+    Mockito.when(context.getOnErrorRecord()).thenReturn(onRecordError);
+    processor.init(Mockito.mock(Stage.Info.class), context);
+    try {
+      processor.process(batch, batchMaker);
+      Assert.assertNotEquals(OnRecordError.STOP_PIPELINE, onRecordError);
+    } catch (OnRecordErrorException ex) {
+      Assert.assertEquals(OnRecordError.STOP_PIPELINE, onRecordError);
+    } finally {
+      processor.destroy();
+    }
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < records.size(); i++) {
+      expected.add(i + ((i % 7 == 3) ? ":partial" : ":l"));
+      if (i % 7 == 3 && onRecordError == OnRecordError.STOP_PIPELINE) {
+        break;
+      }
+    }
+    Assert.assertEquals(expected, added);
+    Assert.assertFalse(processor.threads.contains(Thread.currentThread().getName()));
+
+    ArgumentCaptor<Record> captor = ArgumentCaptor.forClass(Record.class);
+    if (onRecordError == OnRecordError.TO_ERROR) {
+      Mockito.verify(context, Mockito.times(failing.size())).toError(captor.capture(), (Exception) Mockito.any());
+      Assert.assertEquals(failing, captor.getAllValues());
+    } else {
+      Mockito.verify(context, Mockito.never()).toError((Record) Mockito.any(), (Exception) Mockito.any());
+    }
+  }
+
+  @Test
+  public void testParallelDiscard() throws Exception {
+    testParallel(OnRecordError.DISCARD);
+  }
+
+  @Test
+  public void testParallelToError() throws Exception {
+    testParallel(OnRecordError.TO_ERROR);
+  }
+
+  @Test
+  public void testParallelStopPipeline() throws Exception {
+    testParallel(OnRecordError.STOP_PIPELINE);
+  }
+
+  @Test(timeout = 30000)
+  public void testParallelInterruptCancelsInFlightRecords() throws Exception {
+    final List<Record> records = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      records.add(Mockito.mock(Record.class));
+    }
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(records.iterator());
+    BatchMaker batchMaker = Mockito.mock(BatchMaker.class);
+
+    final CountDownLatch started = new CountDownLatch(2);
+    final CountDownLatch startedAfterInterrupt = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(2);
+    final AtomicInteger startedCount = new AtomicInteger();
+    RecordProcessor processor = new RecordProcessor() {
+      @Override
+      protected int getRecordProcessingParallelism() {
+        return 2;
+      }
+
+      @Override
+      protected void process(Record record, BatchMaker bm) throws StageException {
+        if (startedCount.incrementAndGet() > 2) {
+          startedAfterInterrupt.countDown();
+        }
+        started.countDown();
+        try {
+          new CountDownLatch(1).await();
+        } catch (InterruptedException ex) {
+          interrupted.countDown();
+          throw new OnRecordErrorException(ERROR.ERR);
+        }
+      }
+    };
+    processor.init(Mockito.mock(Stage.Info.class), Mockito.mock(Processor.Context.class));
+
+    final AtomicReference<Thread> caller = new AtomicReference<>();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> future = executor.submit(() -> {
+        caller.set(Thread.currentThread());
+        processor.process(batch, batchMaker);
+        return null;
+      });
+      Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+      caller.get().interrupt();
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        Assert.fail();
+      } catch (ExecutionException ex) {
+        Assert.assertEquals(Errors.API_27, ((StageException) ex.getCause()).getErrorCode());
+      }
+      // the records in flight are interrupted and no other record is processed
+      Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+      Assert.assertFalse(startedAfterInterrupt.await(100, TimeUnit.MILLISECONDS));
+      Assert.assertEquals(2, startedCount.get());
+      Mockito.verify(batchMaker, Mockito.never()).addRecord(Mockito.any(Record.class), Mockito.<String>anyVararg());
+    } finally {
+      executor.shutdownNow();
+      processor.destroy();
+    }
+  }
+
+  @Test
+  public void testRecordMetrics() throws Exception {
+    testRecordMetrics(1);
+  }
+
+  @Test
+  public void testParallelRecordMetrics() throws Exception {
+    testRecordMetrics(4);
+  }
+
+  private void testRecordMetrics(int parallelism) throws Exception {
+    final List<Record> records = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      records.add(Mockito.mock(Record.class));
+    }
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(records.iterator());
+
+    Processor processor = new RecordProcessor() {
+      @Override
+      protected int getRecordProcessingParallelism() {
+        return parallelism;
+      }
+
+      @Override
+      protected int getRecordMetricsSampling() {
+        return 3;
+      }
+
+      @Override
+      protected void process(Record record, BatchMaker bm) throws StageException {
+        if (records.indexOf(record) % 4 == 1) {
+          throw new OnRecordErrorException(ERROR.ERR);
+        }
+      }
+    };
+
+    final MetricRegistry metrics = new MetricRegistry();
+    Processor.Context context = Mockito.mock(Processor.Context.class);
+    Mockito.when(context.getOnErrorRecord()).thenReturn(OnRecordError.TO_ERROR);
+    Mockito.when(context.createTimer(Mockito.anyString())).then(i -> metrics.timer((String) i.getArguments()[0]));
+    Mockito.when(context.createCounter(Mockito.anyString())).then(i -> metrics.counter((String) i.getArguments()[0]));
+    processor.init(Mockito.mock(Stage.Info.class), context);
+    processor.process(batch, Mockito.mock(BatchMaker.class));
+    Mockito.when(batch.getRecords()).thenReturn(Collections.<Record>emptySet().iterator());
+    processor.process(batch, Mockito.mock(BatchMaker.class));
+    processor.destroy();
+
+    // records 3, 6 and 9 are sampled
+    Assert.assertEquals(3, metrics.timer(RecordMetrics.LATENCY_TIMER).getCount());
+    Assert.assertEquals(3, metrics.counter(RecordMetrics.TO_ERROR_COUNTER).getCount());
+    Assert.assertEquals(0, metrics.counter(RecordMetrics.DISCARDED_COUNTER).getCount());
+    Assert.assertEquals(0, metrics.counter(RecordMetrics.STOP_PIPELINE_COUNTER).getCount());
+    Assert.assertEquals(1, metrics.counter(RecordMetrics.EMPTY_BATCHES_COUNTER).getCount());
+  }
+
 }
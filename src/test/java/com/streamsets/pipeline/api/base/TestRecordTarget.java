@@ -15,6 +15,9 @@
  */
 package com.streamsets.pipeline.api.base;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableSet;
 import com.streamsets.pipeline.api.Batch;
 import com.streamsets.pipeline.api.BatchMaker;
@@ -31,7 +34,13 @@ import org.mockito.Mockito;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class TestRecordTarget {
 
@@ -218,4 +227,176 @@ public class TestRecordTarget {
     testOnErrorHandlingOtherException(OnRecordError.STOP_PIPELINE);
   }
 
+  private void testConcurrentWrites(OnRecordError onRecordError) throws Exception {
+    final List<Record> records = new ArrayList<>();
+    final List<Record> failing = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      records.add(Mockito.mock(Record.class));
+      if (i % 7 == 3) {
+        failing.add(records.get(i));
+      }
+    }
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(records.iterator());
+
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+    final Set<Record> written = Collections.synchronizedSet(new HashSet<Record>());
+    Target target = new RecordTarget() {
+      @Override
+      protected int getMaxInFlightWrites() {
+        return 4;
+      }
+
+      @Override
+      protected void write(Record record) throws StageException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException ex) {
+          throw new RuntimeException(ex);
+        }
+        inFlight.decrementAndGet();
+        written.add(record);
+        if (failing.contains(record)) {
+          throw new OnRecordErrorException(ERROR.ERR);
+        }
+      }
+    };
+
+    Target.Context context = Mockito.mock(Target.Context.class);
+    Mockito.when(context.getOnErrorRecord()).thenReturn(onRecordError);
+    Counter counter = new Counter();
+    Timer timer = new Timer();
+    Mockito.when(context.createCounter(Mockito.anyString())).thenReturn(counter);
+    Mockito.when(context.createTimer(Mockito.anyString())).thenReturn(timer);
+    target.init(Mockito.mock(Stage.Info.class), context);
+    try {
+      target.write(batch);
+      Assert.assertNotEquals(OnRecordError.STOP_PIPELINE, onRecordError);
+    } catch (OnRecordErrorException ex) {
+      Assert.assertEquals(OnRecordError.STOP_PIPELINE, onRecordError);
+    } finally {
+      target.destroy();
+    }
+
+    // all the writes have finished, even after a record error stopping the pipeline
+    Assert.assertEquals(records.size(), written.size());
+    Assert.assertTrue(maxInFlight.get() > 1);
+    Assert.assertTrue(maxInFlight.get() <= 4);
+    Assert.assertEquals(0, counter.getCount());
+    Assert.assertEquals(records.size(), timer.getCount());
+
+    ArgumentCaptor<Record> captor = ArgumentCaptor.forClass(Record.class);
+    if (onRecordError == OnRecordError.TO_ERROR) {
+      Mockito.verify(context, Mockito.times(failing.size())).toError(captor.capture(), (Exception) Mockito.any());
+      Assert.assertEquals(failing, captor.getAllValues());
+    } else {
+      Mockito.verify(context, Mockito.never()).toError((Record) Mockito.any(), (Exception) Mockito.any());
+    }
+  }
+
+  @Test
+  public void testConcurrentWritesDiscard() throws Exception {
+    testConcurrentWrites(OnRecordError.DISCARD);
+  }
+
+  @Test
+  public void testConcurrentWritesToError() throws Exception {
+    testConcurrentWrites(OnRecordError.TO_ERROR);
+  }
+
+  @Test
+  public void testConcurrentWritesStopPipeline() throws Exception {
+    testConcurrentWrites(OnRecordError.STOP_PIPELINE);
+  }
+
+  @Test(timeout = 10000)
+  public void testConcurrentWritesInterrupted() throws Exception {
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(ImmutableSet.of(Mockito.mock(Record.class)).iterator());
+
+    final CountDownLatch writing = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    Target target = new RecordTarget() {
+      @Override
+      protected int getMaxInFlightWrites() {
+        return 2;
+      }
+
+      @Override
+      protected void write(Record record) throws StageException {
+        writing.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException ex) {
+          throw new RuntimeException(ex);
+        }
+      }
+    };
+
+    Target.Context context = Mockito.mock(Target.Context.class);
+    Mockito.when(context.getOnErrorRecord()).thenReturn(OnRecordError.DISCARD);
+    Mockito.when(context.createCounter(Mockito.anyString())).thenReturn(new Counter());
+    Mockito.when(context.createTimer(Mockito.anyString())).thenReturn(new Timer());
+    target.init(Mockito.mock(Stage.Info.class), context);
+
+    final AtomicReference<Exception> thrown = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      try {
+        target.write(batch);
+      } catch (Exception ex) {
+        thrown.set(ex);
+      }
+    });
+    try {
+      thread.start();
+      Assert.assertTrue(writing.await(5, TimeUnit.SECONDS));
+      thread.interrupt();
+      thread.join(5000);
+      Assert.assertFalse(thread.isAlive());
+      Assert.assertTrue(thrown.get() instanceof StageException);
+      Assert.assertEquals(Errors.API_33, ((StageException) thrown.get()).getErrorCode());
+    } finally {
+      release.countDown();
+      target.destroy();
+    }
+  }
+
+  @Test
+  public void testRecordMetrics() throws Exception {
+    Record record1 = Mockito.mock(Record.class);
+    final Record record2 = Mockito.mock(Record.class);
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(ImmutableSet.of(record1, record2).iterator());
+
+    Target target = new RecordTarget() {
+      @Override
+      protected int getRecordMetricsSampling() {
+        return 1;
+      }
+
+      @Override
+      protected void write(Record record) throws StageException {
+        if (record == record2) {
+          throw new OnRecordErrorException(ERROR.ERR);
+        }
+      }
+    };
+
+    final MetricRegistry metrics = new MetricRegistry();
+    Target.Context context = Mockito.mock(Target.Context.class);
+    Mockito.when(context.getOnErrorRecord()).thenReturn(OnRecordError.DISCARD);
+    Mockito.when(context.createTimer(Mockito.anyString())).then(i -> metrics.timer((String) i.getArguments()[0]));
+    Mockito.when(context.createCounter(Mockito.anyString())).then(i -> metrics.counter((String) i.getArguments()[0]));
+    target.init(Mockito.mock(Stage.Info.class), context);
+    target.write(batch);
+    target.destroy();
+
+    Assert.assertEquals(2, metrics.timer(RecordMetrics.LATENCY_TIMER).getCount());
+    Assert.assertEquals(1, metrics.counter(RecordMetrics.DISCARDED_COUNTER).getCount());
+    Assert.assertEquals(0, metrics.counter(RecordMetrics.EMPTY_BATCHES_COUNTER).getCount());
+  }
+
 }
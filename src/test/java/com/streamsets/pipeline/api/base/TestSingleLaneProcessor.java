@@ -28,6 +28,7 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -123,4 +124,72 @@ public class TestSingleLaneProcessor {
     Assert.assertEquals(ImmutableList.of(record1, record2), recordCaptor.getAllValues());
   }
 
+  @Test
+  public void testProcessorBulk() throws Exception {
+    final List<Record> records = ImmutableList.of(Mockito.mock(Record.class), Mockito.mock(Record.class));
+    Batch batch = Mockito.mock(Batch.class);
+    final BatchMaker batchMaker = Mockito.mock(BatchMaker.class);
+
+    Processor processor = new SingleLaneProcessor() {
+      @Override
+      public void process(Batch batch, SingleLaneBatchMaker singleLaneBatchMaker) throws StageException {
+        singleLaneBatchMaker.addRecords(records);
+      }
+    };
+
+    Processor.Context context = Mockito.mock(Processor.Context.class);
+    Mockito.when(context.getOutputLanes()).thenReturn(ImmutableList.of("l2"));
+    processor.init(Mockito.mock(Stage.Info.class), context);
+
+    processor.process(batch, batchMaker);
+    Mockito.verify(batchMaker).addRecords(records, "l2");
+    Mockito.verify(batchMaker, Mockito.never()).addRecord(Mockito.any(Record.class), Mockito.<String>anyVararg());
+  }
+
+  @Test
+  public void testKeptSingleLaneBatchMaker() throws Exception {
+    final List<SingleLaneProcessor.SingleLaneBatchMaker> kept = new ArrayList<>();
+    Processor processor = new SingleLaneProcessor() {
+      @Override
+      public void process(Batch batch, SingleLaneBatchMaker singleLaneBatchMaker) throws StageException {
+        kept.add(singleLaneBatchMaker);
+      }
+    };
+
+    Processor.Context context = Mockito.mock(Processor.Context.class);
+    Mockito.when(context.getOutputLanes()).thenReturn(ImmutableList.of("l2"));
+    processor.init(Mockito.mock(Stage.Info.class), context);
+
+    BatchMaker batchMaker1 = Mockito.mock(BatchMaker.class);
+    BatchMaker batchMaker2 = Mockito.mock(BatchMaker.class);
+    processor.process(Mockito.mock(Batch.class), batchMaker1);
+    processor.process(Mockito.mock(Batch.class), batchMaker2);
+
+    // a SingleLaneBatchMaker kept after the batch keeps writing to the BatchMaker of its batch
+    Record record = Mockito.mock(Record.class);
+    kept.get(0).addRecord(record);
+    Mockito.verify(batchMaker1).addRecord(record, "l2");
+    Mockito.verifyZeroInteractions(batchMaker2);
+  }
+
+  @Test
+  public void testSingleLaneBatchMakerReused() throws Exception {
+    final List<SingleLaneProcessor.SingleLaneBatchMaker> kept = new ArrayList<>();
+    Processor processor = new SingleLaneProcessor() {
+      @Override
+      public void process(Batch batch, SingleLaneBatchMaker singleLaneBatchMaker) throws StageException {
+        kept.add(singleLaneBatchMaker);
+      }
+    };
+
+    Processor.Context context = Mockito.mock(Processor.Context.class);
+    Mockito.when(context.getOutputLanes()).thenReturn(ImmutableList.of("l2"));
+    processor.init(Mockito.mock(Stage.Info.class), context);
+
+    BatchMaker batchMaker = Mockito.mock(BatchMaker.class);
+    processor.process(Mockito.mock(Batch.class), batchMaker);
+    processor.process(Mockito.mock(Batch.class), batchMaker);
+    Assert.assertSame(kept.get(0), kept.get(1));
+  }
+
 }
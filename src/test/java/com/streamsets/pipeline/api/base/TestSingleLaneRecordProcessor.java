@@ -74,4 +74,59 @@ public class TestSingleLaneRecordProcessor {
     Assert.assertTrue(emptyBatch[0]);
   }
 
+  @Test
+  public void testParallelProcessor() throws Exception {
+    List<Record> records = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      records.add(Mockito.mock(Record.class));
+    }
+    Batch batch = Mockito.mock(Batch.class);
+    Mockito.when(batch.getRecords()).thenReturn(records.iterator());
+    final List<Record> added = new ArrayList<>();
+    BatchMaker batchMaker = new BatchMaker() {
+      @Override
+      public List<String> getLanes() {
+        return ImmutableList.of("l2");
+      }
+
+      @Override
+      public void addRecord(Record record, String... lanes) {
+        Assert.assertArrayEquals(new String[]{"l2"}, lanes);
+        added.add(record);
+      }
+    };
+
+    final boolean[] emptyBatch = new boolean[1];
+    Processor processor = new SingleLaneRecordProcessor() {
+      @Override
+      protected int getRecordProcessingParallelism() {
+        return 3;
+      }
+
+      @Override
+      protected void process(Record record, SingleLaneBatchMaker batchMaker) {
+        batchMaker.addRecord(record);
+      }
+
+      @Override
+      protected void emptyBatch(SingleLaneBatchMaker batchMaker) throws StageException {
+        emptyBatch[0] = true;
+      }
+    };
+
+    Stage.Info info = Mockito.mock(Stage.Info.class);
+    Processor.Context context = Mockito.mock(Processor.Context.class);
+    Mockito.when(context.getOutputLanes()).thenReturn(ImmutableList.of("l2"));
+    processor.init(info, context);
+
+    processor.process(batch, batchMaker);
+    Assert.assertEquals(records, added);
+
+    //empty batch
+    Mockito.when(batch.getRecords()).thenReturn(Collections.<Record>emptySet().iterator());
+    processor.process(batch, batchMaker);
+    Assert.assertTrue(emptyBatch[0]);
+    processor.destroy();
+  }
+
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.base.configurablestage;
+
+import com.streamsets.pipeline.api.OffsetCommitter;
+import com.streamsets.pipeline.api.Source;
+import com.streamsets.pipeline.api.Stage;
+import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.base.Errors;
+import com.streamsets.pipeline.api.impl.ClusterSource;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestDClusterSourceOffsetCommitter {
+
+  private static class TestDCluster extends DClusterSourceOffsetCommitter {
+    private final Source created;
+    private boolean delegating;
+    private volatile Source delegate;
+    private long timeoutMillis = CLUSTER_SOURCE_TIMEOUT_MILLIS;
+
+    TestDCluster(Source created) {
+      this.created = created;
+    }
+
+    @Override
+    protected Source createSource() {
+      return created;
+    }
+
+    @Override
+    public Source getSource() {
+      return delegating ? delegate : super.getSource();
+    }
+
+    @Override
+    long getClusterSourceTimeoutMillis() {
+      return timeoutMillis;
+    }
+
+    @Override
+    public void shutdown() {
+    }
+  }
+
+  private static Source createClusterSource() {
+    Source source = Mockito.mock(
+        ClusterSource.class,
+        Mockito.withSettings().extraInterfaces(OffsetCommitter.class)
+    );
+    Mockito.when(((ClusterSource) source).getRecordsProduced()).thenReturn(5L);
+    return source;
+  }
+
+  @Test
+  public void testClusterSource() throws Exception {
+    Source source = createClusterSource();
+    TestDCluster dCluster = new TestDCluster(source);
+    dCluster.init(Mockito.mock(Stage.Info.class), Mockito.mock(Source.Context.class));
+
+    Assert.assertEquals(5L, dCluster.getRecordsProduced());
+    dCluster.put(Collections.emptyList());
+    Mockito.verify((ClusterSource) source).put(Collections.emptyList());
+  }
+
+  @Test
+  public void testNotClusterSource() throws Exception {
+    Source source = Mockito.mock(Source.class, Mockito.withSettings().extraInterfaces(OffsetCommitter.class));
+    TestDCluster dCluster = new TestDCluster(source);
+    dCluster.init(Mockito.mock(Stage.Info.class), Mockito.mock(Source.Context.class));
+
+    Assert.assertEquals(-1L, dCluster.getRecordsProduced());
+    Assert.assertEquals(-1, dCluster.getParallelism());
+    Assert.assertNull(dCluster.put(Collections.emptyList()));
+    Assert.assertFalse(dCluster.inErrorState());
+  }
+
+  @Test
+  public void testDelegatingSourceResolvedOnInit() throws Exception {
+    Source wrapper = Mockito.mock(Source.class, Mockito.withSettings().extraInterfaces(OffsetCommitter.class));
+    Source delegate = createClusterSource();
+    TestDCluster dCluster = new TestDCluster(wrapper);
+    dCluster.delegating = true;
+    CountDownLatch initStarted = new CountDownLatch(1);
+    CountDownLatch releaseInit = new CountDownLatch(1);
+    Mockito.when(wrapper.init(Mockito.any(Stage.Info.class), Mockito.any(Source.Context.class))).then(i -> {
+      initStarted.countDown();
+      releaseInit.await();
+      dCluster.delegate = delegate;
+      return Collections.emptyList();
+    });
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      executor.submit(() -> dCluster.init(Mockito.mock(Stage.Info.class), Mockito.mock(Source.Context.class)));
+      Assert.assertTrue(initStarted.await(10, TimeUnit.SECONDS));
+      Future<Long> produced = executor.submit(dCluster::getRecordsProduced);
+      Assert.assertFalse(produced.isDone());
+
+      releaseInit.countDown();
+      Assert.assertEquals(5L, (long) produced.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    Source wrapper = Mockito.mock(Source.class, Mockito.withSettings().extraInterfaces(OffsetCommitter.class));
+    TestDCluster dCluster = new TestDCluster(wrapper);
+    dCluster.delegating = true;
+    dCluster.timeoutMillis = 10;
+
+    try {
+      dCluster.getParallelism();
+      Assert.fail();
+    } catch (StageException ex) {
+      Assert.assertEquals(Errors.API_31, ex.getErrorCode());
+    }
+    try {
+      dCluster.getRecordsProduced();
+      Assert.fail();
+    } catch (RuntimeException ex) {
+      Assert.assertTrue(ex.getCause() instanceof StageException);
+    }
+  }
+
+  @Test
+  public void testInterruptedPut() throws Exception {
+    Source wrapper = Mockito.mock(Source.class, Mockito.withSettings().extraInterfaces(OffsetCommitter.class));
+    TestDCluster dCluster = new TestDCluster(wrapper);
+    dCluster.delegating = true;
+
+    Thread.currentThread().interrupt();
+    try {
+      dCluster.put(Collections.emptyList());
+      Assert.fail();
+    } catch (InterruptedException ex) {
+      // expected
+    }
+    Thread.currentThread().interrupt();
+    try {
+      dCluster.completeBatch();
+      Assert.fail();
+    } catch (InterruptedException ex) {
+      // expected
+    }
+    Thread.currentThread().interrupt();
+    try {
+      dCluster.getRecordsProduced();
+      Assert.fail();
+    } catch (RuntimeException ex) {
+      Assert.assertEquals(Errors.API_32, ((StageException) ex.getCause()).getErrorCode());
+      Assert.assertTrue(Thread.interrupted());
+    }
+  }
+
+  @Test
+  public void testDelegateResolvedAfterNotClusterSource() throws Exception {
+    Source wrapper = Mockito.mock(Source.class, Mockito.withSettings().extraInterfaces(OffsetCommitter.class));
+    TestDCluster dCluster = new TestDCluster(wrapper);
+    dCluster.delegating = true;
+    dCluster.delegate = wrapper;
+    Assert.assertEquals(-1L, dCluster.getRecordsProduced());
+
+    dCluster.delegate = createClusterSource();
+    Assert.assertEquals(5L, dCluster.getRecordsProduced());
+    dCluster.delegate = wrapper;
+    Assert.assertEquals(5L, dCluster.getRecordsProduced());
+  }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.streamsets.pipeline.api.BatchMaker;
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.LaneHandle;
+import com.streamsets.pipeline.api.Record;
+import com.streamsets.pipeline.api.impl.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing records to the lanes of a {@link BatchMaker} by lane name and by {@link LaneHandle}, and adding the
+ * records of a parsed buffer one by one and in bulk to a buffering <code>BatchMaker</code> like the container one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchMakerBenchmark {
+  private static final List<String> LANES = ImmutableList.of("lane0", "lane1", "lane2", "lane3");
+
+  private Record record;
+  private BatchMaker batchMaker;
+  private List<LaneHandle> handles;
+  private int next;
+  private List<Record> parsed;
+  private BufferingBatchMaker bufferingBatchMaker;
+
+  /**
+   * Keeps the records of each lane in a list, with the per-call lane lookup and record limit check of the container
+   * implementation.
+   */
+  private static class BufferingBatchMaker implements BatchMaker {
+    private static final int MAX_RECORDS = 100_000;
+    private final Map<String, List<Record>> buffers = new HashMap<>();
+    private int size;
+
+    BufferingBatchMaker() {
+      for (String lane : LANES) {
+        buffers.put(lane, new ArrayList<Record>());
+      }
+    }
+
+    @Override
+    public List<String> getLanes() {
+      return LANES;
+    }
+
+    @Override
+    public void addRecord(Record record, String... lanes) {
+      Utils.checkState(size < MAX_RECORDS, "Too many records");
+      for (String lane : lanes) {
+        buffers.get(lane).add(record);
+      }
+      size++;
+    }
+
+    @Override
+    public void addRecords(Collection<Record> records, String... lanes) {
+      Utils.checkState(size + records.size() <= MAX_RECORDS, "Too many records");
+      for (String lane : lanes) {
+        buffers.get(lane).addAll(records);
+      }
+      size += records.size();
+    }
+
+    void clear() {
+      for (List<Record> buffer : buffers.values()) {
+        buffer.clear();
+      }
+      size = 0;
+    }
+  }
+
+  @Setup
+  public void setup(final Blackhole bh) {
+    record = new BenchmarkRecord(Field.create("value"));
+    // not inlinable, the lanes array escapes as it does in the container implementation
+    batchMaker = new BatchMaker() {
+      @Override
+      public List<String> getLanes() {
+        return LANES;
+      }
+
+      @Override
+      public void addRecord(Record record, String... lanes) {
+        bh.consume(record);
+        bh.consume(lanes);
+      }
+
+      // overridden as a container implementation would, by lane index
+      @Override
+      public void addRecordToLane(Record record, LaneHandle lane) {
+        bh.consume(record);
+        bh.consume(lane.getIndex());
+      }
+    };
+    handles = LaneHandle.of(LANES);
+    parsed = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      parsed.add(new BenchmarkRecord(Field.create(i)));
+    }
+    bufferingBatchMaker = new BufferingBatchMaker();
+  }
+
+  @Benchmark
+  public void addRecordByName() {
+    batchMaker.addRecord(record, LANES.get(next++ & 3));
+  }
+
+  @Benchmark
+  public void addRecordByHandle() {
+    batchMaker.addRecordToLane(record, handles.get(next++ & 3));
+  }
+
+  @Benchmark
+  public void addParsedRecordsOneByOne() {
+    bufferingBatchMaker.clear();
+    for (Record record : parsed) {
+      bufferingBatchMaker.addRecord(record, "lane1");
+    }
+  }
+
+  @Benchmark
+  public void addParsedRecordsInBulk() {
+    bufferingBatchMaker.clear();
+    bufferingBatchMaker.addRecords(parsed, "lane1");
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * Creates a tree of the given container type where every level has <code>width</code> children, the leaves being a
+   * mix of the scalar types (as they would look like in a typical record).
+   */
+  static Field tree(Field.Type type, int width, int depth) {
+    if (depth == 0) {
+      return Field.create(leaves(width));
+    }
+    switch (type) {
+      case MAP:
+        Map<String, Field> map = new LinkedHashMap<>();
+        for (int i = 0; i < width; i++) {
+          map.put("f" + i, tree(type, width, depth - 1));
+        }
+        return Field.create(map);
+      case LIST_MAP:
+        LinkedHashMap<String, Field> listMap = new LinkedHashMap<>();
+        for (int i = 0; i < width; i++) {
+          listMap.put("f" + i, tree(type, width, depth - 1));
+        }
+        return Field.createListMap(listMap);
+      case LIST:
+        List<Field> list = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+          list.add(tree(type, width, depth - 1));
+        }
+        return Field.create(list);
+      default:
+        throw new IllegalArgumentException("Unsupported container type: " + type);
+    }
+  }
+
+  static Map<String, Field> leaves(int width) {
+    Map<String, Field> map = new LinkedHashMap<>();
+    for (int i = 0; i < width; i++) {
+      map.put("l" + i, scalar(i));
+    }
+    return map;
+  }
+
+  static Field scalar(int i) {
+    switch (i % 6) {
+      case 0:
+        return Field.create(i);
+      case 1:
+        return Field.create((long) i);
+      case 2:
+        return Field.create((double) i);
+      case 3:
+        return Field.create("value-" + i);
+      case 4:
+        return Field.create(new BigDecimal(i));
+      default:
+        return Field.createDatetime(new Date(i));
+    }
+  }
+
+}
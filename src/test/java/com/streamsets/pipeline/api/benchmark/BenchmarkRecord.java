@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.FieldPath;
+import com.streamsets.pipeline.api.FieldVisitor;
+import com.streamsets.pipeline.api.Record;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Minimal in-memory {@link Record} for the benchmarks, the real implementation lives in the Data Collector container.
+ * <p/>
+ * String field-paths are parsed on every call, which is what the container does as well.
+ */
+class BenchmarkRecord implements Record {
+
+  private Field root;
+
+  BenchmarkRecord(Field root) {
+    this.root = root;
+  }
+
+  @Override
+  public Header getHeader() {
+    return null;
+  }
+
+  @Override
+  public Field get() {
+    return root;
+  }
+
+  @Override
+  public Field set(Field field) {
+    Field old = root;
+    root = field;
+    return old;
+  }
+
+  @Override
+  public Field get(String fieldPath) {
+    return get(FieldPath.parse(fieldPath));
+  }
+
+  @Override
+  public Field set(String fieldPath, Field newField) {
+    return set(FieldPath.parse(fieldPath), newField);
+  }
+
+  @Override
+  public Field delete(String fieldPath) {
+    return delete(FieldPath.parse(fieldPath));
+  }
+
+  @Override
+  public boolean has(String fieldPath) {
+    return has(FieldPath.parse(fieldPath));
+  }
+
+  @Override
+  @Deprecated
+  public Set<String> getFieldPaths() {
+    return getEscapedFieldPaths();
+  }
+
+  @Override
+  public Set<String> getEscapedFieldPaths() {
+    return new LinkedHashSet<>(getEscapedFieldPathsOrdered());
+  }
+
+  @Override
+  public List<String> getEscapedFieldPathsOrdered() {
+    List<String> paths = new ArrayList<>();
+    if (root != null) {
+      collect(root, "", paths);
+    }
+    return paths;
+  }
+
+  @Override
+  public void forEachField(FieldVisitor visitor) {
+    throw new UnsupportedOperationException();
+  }
+
+  private static void collect(Field field, String path, List<String> paths) {
+    paths.add(path);
+    if (field.getValue() == null) {
+      return;
+    }
+    switch (field.getType()) {
+      case MAP:
+      case LIST_MAP:
+        for (Map.Entry<String, Field> entry : field.getValueAsMap().entrySet()) {
+          collect(entry.getValue(), path + FieldPath.ROOT.child(entry.getKey()), paths);
+        }
+        break;
+      case LIST:
+        List<Field> list = field.getValueAsList();
+        for (int i = 0; i < list.size(); i++) {
+          collect(list.get(i), path + "[" + i + "]", paths);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BYTE_ARRAY fields, copying accessors versus the zero-copy ones. The gc profiler's <code>alloc.rate.norm</code>
+ * shows the payload copies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ByteArrayFieldBenchmark {
+
+  @Param({"1024", "1048576"})
+  public int size;
+
+  private byte[] bytes;
+  private Field field;
+
+  @Setup
+  public void setup() {
+    bytes = new byte[size];
+    field = Field.create(bytes);
+  }
+
+  @Benchmark
+  public Field create() {
+    return Field.create(bytes);
+  }
+
+  @Benchmark
+  public Field createByRef() {
+    return Field.createByteArrayByRef(bytes);
+  }
+
+  @Benchmark
+  public Object getValue() {
+    return field.getValue();
+  }
+
+  @Benchmark
+  public byte[] getValueAsByteArray() {
+    return field.getValueAsByteArray();
+  }
+
+  @Benchmark
+  public ByteBuffer getValueAsByteBuffer() {
+    return field.getValueAsByteBuffer();
+  }
+
+  @Benchmark
+  public Field cloneField() {
+    return field.clone();
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fields carrying attributes, shaped like the column metadata JDBC origins set on every field.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAttributesBenchmark {
+
+  private Map<String, String> attributes;
+  private Field field;
+
+  @Setup
+  public void setup() {
+    attributes = new LinkedHashMap<>();
+    attributes.put("jdbc.typeName", "NUMERIC");
+    attributes.put("jdbc.precision", "10");
+    attributes.put("jdbc.scale", "2");
+    attributes.put("jdbc.columnName", "amount");
+    field = Field.create(Field.Type.STRING, "value", attributes);
+  }
+
+  @Benchmark
+  public Field create() {
+    return Field.create(Field.Type.STRING, "value", attributes);
+  }
+
+  @Benchmark
+  public Field setAttributes() {
+    Field field = Field.create("value");
+    for (Map.Entry<String, String> entry : attributes.entrySet()) {
+      field.setAttribute(entry.getKey(), entry.getValue());
+    }
+    return field;
+  }
+
+  @Benchmark
+  public String getAttribute() {
+    return field.getAttribute("jdbc.scale");
+  }
+
+  @Benchmark
+  public Field cloneField() {
+    return field.clone();
+  }
+
+  @Benchmark
+  public Field cloneAndSetAttribute() {
+    Field clone = field.clone();
+    clone.setAttribute("jdbc.scale", "3");
+    return clone;
+  }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.FieldBatch;
+import com.streamsets.pipeline.api.FieldFilter;
+import com.streamsets.pipeline.api.Record;
+import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.impl.MultiRecordFieldBatch;
+import com.streamsets.pipeline.api.impl.RecordBasedFieldBatch;
+import com.streamsets.pipeline.api.impl.RecordTreeFieldBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FieldBatch} iteration over a whole record, path based and walking the field tree, and over a batch of
+ * {@link #BATCH_SIZE} records, one field batch per record and a single one for the batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldBatchBenchmark {
+  private static final int BATCH_SIZE = 100;
+
+  @Param({"MAP", "LIST"})
+  public Field.Type type;
+
+  @Param({"10"})
+  public int width;
+
+  @Param({"2"})
+  public int depth;
+
+  private BenchmarkRecord record;
+  private RecordTreeFieldBatch treeBatch;
+  private List<Record> records;
+  private MultiRecordFieldBatch stringsBatch;
+  private final FieldFilter stringsFilter = FieldFilter.ALL.withTypes(Field.Type.STRING);
+
+  @Setup
+  public void setup() {
+    record = new BenchmarkRecord(BenchmarkData.tree(type, width, depth));
+    treeBatch = new RecordTreeFieldBatch(record);
+    records = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      records.add(new BenchmarkRecord(BenchmarkData.tree(type, width, depth)));
+    }
+    stringsBatch = new MultiRecordFieldBatch(records, EnumSet.of(Field.Type.STRING));
+  }
+
+  @Benchmark
+  public void iterate(Blackhole bh) {
+    FieldBatch batch = new RecordBasedFieldBatch(record);
+    while (batch.next()) {
+      bh.consume(batch.getField());
+      bh.consume(batch.getFieldName());
+    }
+  }
+
+  @Benchmark
+  public void replaceStrings(Blackhole bh) {
+    FieldBatch batch = new RecordBasedFieldBatch(record);
+    while (batch.next()) {
+      Field field = batch.getField();
+      if (field.getType() == Field.Type.STRING) {
+        // replacing with an equal value keeps the record stable across invocations
+        batch.replace(Field.create(field.getValueAsString()));
+      }
+      bh.consume(field);
+    }
+  }
+
+  @Benchmark
+  public void iterateTree(Blackhole bh) {
+    treeBatch.reset(record);
+    while (treeBatch.next()) {
+      bh.consume(treeBatch.getField());
+      bh.consume(treeBatch.getFieldName());
+    }
+  }
+
+  @Benchmark
+  public void iterateTreeWithPaths(Blackhole bh) {
+    treeBatch.reset(record);
+    while (treeBatch.next()) {
+      bh.consume(treeBatch.getField());
+      bh.consume(treeBatch.getFieldPath());
+    }
+  }
+
+  @Benchmark
+  public void replaceStringsTree(Blackhole bh) {
+    treeBatch.reset(record);
+    while (treeBatch.next()) {
+      Field field = treeBatch.getField();
+      if (field.getType() == Field.Type.STRING) {
+        treeBatch.replace(Field.create(field.getValueAsString()));
+      }
+      bh.consume(field);
+    }
+  }
+
+  @Benchmark
+  public void replaceStringsPerRecord(Blackhole bh) {
+    for (Record r : records) {
+      FieldBatch batch = new RecordBasedFieldBatch(r);
+      while (batch.next()) {
+        Field field = batch.getField();
+        if (field.getType() == Field.Type.STRING) {
+          batch.replace(Field.create(field.getValueAsString()));
+        }
+        bh.consume(field);
+      }
+    }
+  }
+
+  @Benchmark
+  public void replaceStringsMultiRecord(Blackhole bh) {
+    stringsBatch.reset(records);
+    while (stringsBatch.next()) {
+      Field field = stringsBatch.getField();
+      stringsBatch.replace(Field.create(field.getValueAsString()));
+      bh.consume(field);
+    }
+  }
+
+  @Benchmark
+  public void visitStringsFiltered(Blackhole bh) throws StageException {
+    record.forEachField(stringsFilter, recordField -> bh.consume(recordField.getField()));
+  }
+
+  @Benchmark
+  public void visitStringsTree(Blackhole bh) {
+    treeBatch.reset(record);
+    while (treeBatch.next()) {
+      if (treeBatch.getField().getType() == Field.Type.STRING) {
+        bh.consume(treeBatch.getField());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep clones of nested MAP, LIST and LIST_MAP fields, on their own and followed by modifications or reads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldCloneBenchmark {
+
+  @Param({"MAP", "LIST", "LIST_MAP"})
+  public Field.Type type;
+
+  @Param({"10"})
+  public int width;
+
+  @Param({"1", "3"})
+  public int depth;
+
+  private Field field;
+
+  @Setup
+  public void setup() {
+    field = BenchmarkData.tree(type, width, depth);
+  }
+
+  @Benchmark
+  public Field deepClone() {
+    return field.clone();
+  }
+
+  // clone and modify a single top level element, as a fan-out processor would do
+  @Benchmark
+  public Field cloneAndModify() {
+    Field clone = field.clone();
+    if (type == Field.Type.LIST) {
+      clone.getValueAsList().set(0, Field.create("modified"));
+    } else {
+      clone.getValueAsMap().put("f0", Field.create("modified"));
+    }
+    return clone;
+  }
+
+  // clone and read every leaf, the worst case for lazily copied collections
+  @Benchmark
+  public void cloneAndReadAll(Blackhole bh) {
+    read(field.clone(), bh);
+  }
+
+  private static void read(Field field, Blackhole bh) {
+    switch (field.getType()) {
+      case MAP:
+      case LIST_MAP:
+        for (Field child : field.getValueAsMap().values()) {
+          read(child, bh);
+        }
+        break;
+      case LIST:
+        for (Field child : field.getValueAsList()) {
+          read(child, bh);
+        }
+        break;
+      default:
+        bh.consume(field.getValue());
+    }
+  }
+
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The <code>Field.getValueAsXxx()</code> conversion paths, both from the field's own type and from the most common
+ * foreign types (STRING and the other numeric types).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldConversionBenchmark {
+
+  private Field booleanField;
+  private Field charField;
+  private Field byteField;
+  private Field shortField;
+  private Field intField;
+  private Field longField;
+  private Field floatField;
+  private Field doubleField;
+  private Field decimalField;
+  private Field stringField;
+  private Field numericStringField;
+  private Field dateStringField;
+  private Field zonedStringField;
+  private Field dateField;
+  private Field datetimeField;
+  private Field timeField;
+  private Field zonedDatetimeField;
+  private Field byteArrayField;
+  private Field mapField;
+  private Field listField;
+  private Field listMapField;
+
+  @Setup
+  public void setup() {
+    booleanField = Field.create(true);
+    charField = Field.create('c');
+    byteField = Field.create((byte) 1);
+    shortField = Field.create((short) 1);
+    intField = Field.create(1);
+    longField = Field.create(1L);
+    floatField = Field.create(1.5f);
+    doubleField = Field.create(1.5d);
+    decimalField = Field.create(new BigDecimal("1.5"));
+    stringField = Field.create("value");
+    numericStringField = Field.create("12345");
+    dateStringField = Field.create("2020-01-01T10:00Z");
+    zonedStringField = Field.create("2020-01-01T10:00:00Z[UTC]");
+    dateField = Field.createDate(new Date());
+    datetimeField = Field.createDatetime(new Date());
+    timeField = Field.createTime(new Date());
+    zonedDatetimeField = Field.createZonedDateTime(ZonedDateTime.now());
+    byteArrayField = Field.create(new byte[1024]);
+    mapField = BenchmarkData.tree(Field.Type.MAP, 10, 0);
+    listField = BenchmarkData.tree(Field.Type.LIST, 10, 1);
+    listMapField = BenchmarkData.tree(Field.Type.LIST_MAP, 10, 1);
+  }
+
+  // Same type
+
+  @Benchmark
+  public boolean booleanAsBoolean() {
+    return booleanField.getValueAsBoolean();
+  }
+
+  @Benchmark
+  public char charAsChar() {
+    return charField.getValueAsChar();
+  }
+
+  @Benchmark
+  public byte byteAsByte() {
+    return byteField.getValueAsByte();
+  }
+
+  @Benchmark
+  public short shortAsShort() {
+    return shortField.getValueAsShort();
+  }
+
+  @Benchmark
+  public int intAsInteger() {
+    return intField.getValueAsInteger();
+  }
+
+  @Benchmark
+  public long longAsLong() {
+    return longField.getValueAsLong();
+  }
+
+  @Benchmark
+  public float floatAsFloat() {
+    return floatField.getValueAsFloat();
+  }
+
+  @Benchmark
+  public double doubleAsDouble() {
+    return doubleField.getValueAsDouble();
+  }
+
+  @Benchmark
+  public BigDecimal decimalAsDecimal() {
+    return decimalField.getValueAsDecimal();
+  }
+
+  @Benchmark
+  public String stringAsString() {
+    return stringField.getValueAsString();
+  }
+
+  @Benchmark
+  public Date dateAsDate() {
+    return dateField.getValueAsDate();
+  }
+
+  @Benchmark
+  public Date datetimeAsDatetime() {
+    return datetimeField.getValueAsDatetime();
+  }
+
+  @Benchmark
+  public Date timeAsTime() {
+    return timeField.getValueAsTime();
+  }
+
+  @Benchmark
+  public long dateAsEpochMillis() {
+    return dateField.getValueAsEpochMillis();
+  }
+
+  @Benchmark
+  public ZonedDateTime zonedDatetimeAsZonedDatetime() {
+    return zonedDatetimeField.getValueAsZonedDateTime();
+  }
+
+  @Benchmark
+  public byte[] byteArrayAsByteArray() {
+    return byteArrayField.getValueAsByteArray();
+  }
+
+  @Benchmark
+  public Map<String, Field> mapAsMap() {
+    return mapField.getValueAsMap();
+  }
+
+  @Benchmark
+  public Object listAsList() {
+    return listField.getValueAsList();
+  }
+
+  @Benchmark
+  public Object listMapAsListMap() {
+    return listMapField.getValueAsListMap();
+  }
+
+  // Across types
+
+  @Benchmark
+  public long intAsLong() {
+    return intField.getValueAsLong();
+  }
+
+  @Benchmark
+  public double longAsDouble() {
+    return longField.getValueAsDouble();
+  }
+
+  @Benchmark
+  public int doubleAsInteger() {
+    return doubleField.getValueAsInteger();
+  }
+
+  @Benchmark
+  public BigDecimal intAsDecimal() {
+    return intField.getValueAsDecimal();
+  }
+
+  @Benchmark
+  public BigDecimal doubleAsDecimal() {
+    return doubleField.getValueAsDecimal();
+  }
+
+  @Benchmark
+  public double decimalAsDouble() {
+    return decimalField.getValueAsDouble();
+  }
+
+  @Benchmark
+  public boolean intAsBoolean() {
+    return intField.getValueAsBoolean();
+  }
+
+  @Benchmark
+  public long dateAsLong() {
+    return dateField.getValueAsLong();
+  }
+
+  @Benchmark
+  public Date longAsDate() {
+    return longField.getValueAsDate();
+  }
+
+  @Benchmark
+  public Object listAsListMap() {
+    return listField.getValueAsListMap();
+  }
+
+  @Benchmark
+  public Object listMapAsList() {
+    return listMapField.getValueAsList();
+  }
+
+  // From STRING
+
+  @Benchmark
+  public int stringAsInteger() {
+    return numericStringField.getValueAsInteger();
+  }
+
+  @Benchmark
+  public long stringAsLong() {
+    return numericStringField.getValueAsLong();
+  }
+
+  @Benchmark
+  public double stringAsDouble() {
+    return numericStringField.getValueAsDouble();
+  }
+
+  @Benchmark
+  public BigDecimal stringAsDecimal() {
+    return numericStringField.getValueAsDecimal();
+  }
+
+  @Benchmark
+  public boolean stringAsBoolean() {
+    return stringField.getValueAsBoolean();
+  }
+
+  @Benchmark
+  public Date stringAsDate() {
+    return dateStringField.getValueAsDate();
+  }
+
+  @Benchmark
+  public ZonedDateTime stringAsZonedDatetime() {
+    return zonedStringField.getValueAsZonedDateTime();
+  }
+
+  // To STRING
+
+  @Benchmark
+  public void scalarsAsString(Blackhole bh) {
+    bh.consume(intField.getValueAsString());
+    bh.consume(longField.getValueAsString());
+    bh.consume(doubleField.getValueAsString());
+    bh.consume(decimalField.getValueAsString());
+    bh.consume(booleanField.getValueAsString());
+    bh.consume(dateField.getValueAsString());
+    bh.consume(zonedDatetimeField.getValueAsString());
+  }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.impl.CreateByRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field creation, by copy (the default) versus by reference ({@link CreateByRef}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldCreateBenchmark {
+
+  @State(Scope.Thread)
+  public static class Container {
+
+    @Param({"MAP", "LIST", "LIST_MAP"})
+    public Field.Type type;
+
+    @Param({"10"})
+    public int width;
+
+    @Param({"2"})
+    public int depth;
+
+    private Object value;
+
+    @Setup
+    public void setup() {
+      value = BenchmarkData.tree(type, width, depth).getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    Field create() {
+      switch (type) {
+        case MAP:
+          return Field.create((Map<String, Field>) value);
+        case LIST:
+          return Field.create((List<Field>) value);
+        default:
+          return Field.createListMap((LinkedHashMap<String, Field>) value);
+      }
+    }
+  }
+
+  private Date date;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    date = new Date();
+    bytes = new byte[1024];
+  }
+
+  @Benchmark
+  public Field containerByCopy(Container container) {
+    return container.create();
+  }
+
+  @Benchmark
+  public Field containerByRef(Container container) throws Exception {
+    return CreateByRef.call(container::create);
+  }
+
+  @Benchmark
+  public Field intField() {
+    return Field.create(42);
+  }
+
+  @Benchmark
+  public Field longField() {
+    return Field.create(42L);
+  }
+
+  @Benchmark
+  public Field doubleField() {
+    return Field.create(42.0d);
+  }
+
+  @Benchmark
+  public Field stringField() {
+    return Field.create("value");
+  }
+
+  @Benchmark
+  public Field dateFieldByCopy() {
+    return Field.createDatetime(date);
+  }
+
+  @Benchmark
+  public Field dateFieldByRef() throws Exception {
+    return CreateByRef.call(() -> Field.createDatetime(date));
+  }
+
+  @Benchmark
+  public Field byteArrayFieldByCopy() {
+    return Field.create(bytes);
+  }
+
+  @Benchmark
+  public Field byteArrayFieldByRef() throws Exception {
+    return CreateByRef.call(() -> Field.create(bytes));
+  }
+
+}
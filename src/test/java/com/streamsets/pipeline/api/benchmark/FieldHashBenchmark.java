@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashcode, fingerprint and equality of nested fields, as used by deduplication and join stages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldHashBenchmark {
+
+  @Param({"MAP", "LIST"})
+  public Field.Type type;
+
+  @Param({"10"})
+  public int width;
+
+  @Param({"3"})
+  public int depth;
+
+  private Field field;
+  private Field exposedField;
+  private Field equalField;
+  private Field differentField;
+
+  @Setup
+  public void setup() {
+    field = BenchmarkData.tree(type, width, depth);
+    // once the value has been handed out the hashcode is no longer cached
+    exposedField = BenchmarkData.tree(type, width, depth);
+    exposedField.getValue();
+    equalField = BenchmarkData.tree(type, width, depth);
+    differentField = BenchmarkData.tree(type, width, depth + 1);
+    equalField.hashCode();
+    differentField.hashCode();
+  }
+
+  @Benchmark
+  public int hashCodeCached() {
+    return field.hashCode();
+  }
+
+  @Benchmark
+  public int hashCodeExposed() {
+    return exposedField.hashCode();
+  }
+
+  @Benchmark
+  public long fingerprintCached() {
+    return field.getFingerprint();
+  }
+
+  @Benchmark
+  public long fingerprintExposed() {
+    return exposedField.getFingerprint();
+  }
+
+  @Benchmark
+  public boolean equalsSame() {
+    return field.equals(equalField);
+  }
+
+  @Benchmark
+  public boolean equalsDifferent() {
+    return field.equals(differentField);
+  }
+
+}
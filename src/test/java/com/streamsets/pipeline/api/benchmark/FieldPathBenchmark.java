@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.FieldPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A processor reading the same 20 field-paths of every record, with string and with parsed field-paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldPathBenchmark {
+
+  private BenchmarkRecord record;
+  private String[] paths;
+  private FieldPath[] parsedPaths;
+
+  @Setup
+  public void setup() {
+    record = new BenchmarkRecord(BenchmarkData.tree(Field.Type.MAP, 10, 2));
+    paths = new String[20];
+    parsedPaths = new FieldPath[20];
+    for (int i = 0; i < paths.length; i++) {
+      paths[i] = "/f" + (i % 10) + "/f" + (i / 2) + "/l" + (i % 6);
+      parsedPaths[i] = FieldPath.parse(paths[i]);
+    }
+  }
+
+  @Benchmark
+  public void getByString(Blackhole bh) {
+    for (String path : paths) {
+      bh.consume(record.get(path));
+    }
+  }
+
+  @Benchmark
+  public void getByFieldPath(Blackhole bh) {
+    for (FieldPath path : parsedPaths) {
+      bh.consume(record.get(path));
+    }
+  }
+
+  @Benchmark
+  public void parse(Blackhole bh) {
+    for (String path : paths) {
+      bh.consume(FieldPath.parse(path));
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.impl.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ISO-8601 parsing of <code>Utils.parse()</code> against the previous implementation, which built a new
+ * <code>SimpleDateFormat</code> on every call. The multi-threaded variants show the effect of sharing the formatter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Iso8601ParseBenchmark {
+
+  private String value = "2020-01-01T10:00Z";
+  private String nonCanonicalValue = "2020-1-1T10:00Z";
+
+  private static Date legacyParse(String str) throws ParseException {
+    DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm'Z'");
+    dateFormat.setLenient(false);
+    dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    return dateFormat.parse(str);
+  }
+
+  @Benchmark
+  public Date legacy() throws ParseException {
+    return legacyParse(value);
+  }
+
+  @Benchmark
+  public Date parse() throws ParseException {
+    return Utils.parse(value);
+  }
+
+  // falls back to SimpleDateFormat, this is the cost of keeping the accepted inputs unchanged
+  @Benchmark
+  public Date parseNonCanonical() throws ParseException {
+    return Utils.parse(nonCanonicalValue);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Date legacyConcurrent() throws ParseException {
+    return legacyParse(value);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Date parseConcurrent() throws ParseException {
+    return Utils.parse(value);
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import com.streamsets.pipeline.api.Batch;
+import com.streamsets.pipeline.api.BatchMaker;
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.OnRecordError;
+import com.streamsets.pipeline.api.Processor;
+import com.streamsets.pipeline.api.Record;
+import com.streamsets.pipeline.api.StageException;
+import com.streamsets.pipeline.api.base.RecordProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A CPU bound {@link RecordProcessor} (SHA-256 of a string field, repeated) over a batch, sequential and parallel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RecordProcessorBenchmark {
+
+  @Param({"1", "4"})
+  public int parallelism;
+
+  @Param({"1000"})
+  public int batchSize;
+
+  @Param({"16"})
+  public int rounds;
+
+  private List<Record> records;
+  private Batch batch;
+  private RecordProcessor processor;
+  private Blackhole blackhole;
+
+  @Setup
+  public void setup(Blackhole bh) {
+    blackhole = bh;
+    records = new ArrayList<>();
+    for (int i = 0; i < batchSize; i++) {
+      records.add(new BenchmarkRecord(Field.create("value-" + i)));
+    }
+    batch = new Batch() {
+      @Override
+      public String getSourceEntity() {
+        return null;
+      }
+
+      @Override
+      public String getSourceOffset() {
+        return null;
+      }
+
+      @Override
+      public Iterator<Record> getRecords() {
+        return records.iterator();
+      }
+    };
+    processor = new RecordProcessor() {
+      @Override
+      protected int getRecordProcessingParallelism() {
+        return parallelism;
+      }
+
+      @Override
+      protected void process(Record record, BatchMaker batchMaker) throws StageException {
+        byte[] bytes = record.get().getValueAsString().getBytes(StandardCharsets.UTF_8);
+        try {
+          MessageDigest digest = MessageDigest.getInstance("SHA-256");
+          for (int i = 0; i < rounds; i++) {
+            bytes = digest.digest(bytes);
+          }
+        } catch (NoSuchAlgorithmException ex) {
+          throw new IllegalStateException(ex);
+        }
+        batchMaker.addRecord(record);
+      }
+    };
+    // the stage only needs the 'on record error' configuration from the context
+    Processor.Context context = (Processor.Context) Proxy.newProxyInstance(
+        getClass().getClassLoader(),
+        new Class<?>[]{Processor.Context.class},
+        (proxy, method, args) -> method.getName().equals("getOnErrorRecord") ? OnRecordError.TO_ERROR : null
+    );
+    processor.init(null, context);
+  }
+
+  @TearDown
+  public void tearDown() {
+    processor.destroy();
+  }
+
+  @Benchmark
+  public void process() throws StageException {
+    processor.process(batch, new BatchMaker() {
+      @Override
+      public List<String> getLanes() {
+        return ImmutableList.of("lane");
+      }
+
+      @Override
+      public void addRecord(Record record, String... lanes) {
+        blackhole.consume(record);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.benchmark;
+
+import com.streamsets.pipeline.api.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every source type / target type pair of the scalar conversion matrix. Pairs that can't be converted measure the
+ * cost of the error path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeConversionBenchmark {
+
+  @Param({"BOOLEAN", "BYTE", "SHORT", "INTEGER", "LONG", "FLOAT", "DOUBLE", "DECIMAL", "STRING", "DATETIME"})
+  public Field.Type source;
+
+  @Param({"BOOLEAN", "BYTE", "SHORT", "INTEGER", "LONG", "FLOAT", "DOUBLE", "DECIMAL", "STRING", "DATETIME"})
+  public Field.Type target;
+
+  private Field field;
+
+  @Setup
+  public void setup() {
+    switch (source) {
+      case BOOLEAN:
+        field = Field.create(true);
+        break;
+      case FLOAT:
+        field = Field.create(1.5f);
+        break;
+      case DOUBLE:
+        field = Field.create(1.5d);
+        break;
+      case DECIMAL:
+        field = Field.create(new BigDecimal("1.5"));
+        break;
+      case STRING:
+        field = Field.create("1");
+        break;
+      case DATETIME:
+        field = Field.createDatetime(new Date());
+        break;
+      default:
+        field = Field.create(source, 1);
+    }
+  }
+
+  @Benchmark
+  public Object convert() {
+    try {
+      switch (target) {
+        case BOOLEAN:
+          return field.getValueAsBoolean();
+        case BYTE:
+          return field.getValueAsByte();
+        case SHORT:
+          return field.getValueAsShort();
+        case INTEGER:
+          return field.getValueAsInteger();
+        case LONG:
+          return field.getValueAsLong();
+        case FLOAT:
+          return field.getValueAsFloat();
+        case DOUBLE:
+          return field.getValueAsDouble();
+        case DECIMAL:
+          return field.getValueAsDecimal();
+        case STRING:
+          return field.getValueAsString();
+        default:
+          return field.getValueAsDatetime();
+      }
+    } catch (IllegalArgumentException ex) {
+      return ex;
+    }
+  }
+
+}
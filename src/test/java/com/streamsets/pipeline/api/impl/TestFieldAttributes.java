@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestFieldAttributes {
+
+  @Test
+  public void testSameAsLinkedHashMap() {
+    Random random = new Random(0);
+    for (int run = 0; run < 200; run++) {
+      Map<String, String> expected = new LinkedHashMap<>();
+      Map<String, String> attributes = new FieldAttributes();
+      for (int i = 0; i < 50; i++) {
+        String key = "k" + random.nextInt(FieldAttributes.INLINE_CAPACITY + 4);
+        String value = "v" + random.nextInt(100);
+        switch (random.nextInt(4)) {
+          case 0:
+            Assert.assertEquals(expected.remove(key), attributes.remove(key));
+            break;
+          case 1:
+            Assert.assertEquals(expected.get(key), attributes.get(key));
+            Assert.assertEquals(expected.containsKey(key), attributes.containsKey(key));
+            break;
+          default:
+            Assert.assertEquals(expected.put(key, value), attributes.put(key, value));
+        }
+        Assert.assertEquals(expected.size(), attributes.size());
+        Assert.assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(attributes.entrySet()));
+        Assert.assertEquals(expected, attributes);
+        Assert.assertEquals(attributes, expected);
+        Assert.assertEquals(expected.hashCode(), attributes.hashCode());
+        Assert.assertEquals(expected, new FieldAttributes(attributes));
+      }
+    }
+  }
+
+  @Test
+  public void testIteratorRemoveAndSetValue() {
+    Map<String, String> attributes = new FieldAttributes();
+    attributes.put("a", "1");
+    attributes.put("b", "2");
+    attributes.put("c", "3");
+
+    Iterator<Map.Entry<String, String>> it = attributes.entrySet().iterator();
+    it.next().setValue("10");
+    it.next();
+    it.remove();
+    Assert.assertEquals("c", it.next().getKey());
+    Assert.assertFalse(it.hasNext());
+
+    Assert.assertEquals(ImmutableList.of("a", "c"), new ArrayList<>(attributes.keySet()));
+    Assert.assertEquals("10", attributes.get("a"));
+  }
+
+  @Test
+  public void testNullKeyAndValue() {
+    Map<String, String> attributes = new FieldAttributes();
+    attributes.put(null, "1");
+    attributes.put("a", null);
+    Assert.assertEquals("1", attributes.get(null));
+    Assert.assertTrue(attributes.containsKey("a"));
+    Assert.assertNull(attributes.get("a"));
+    Assert.assertEquals(2, attributes.size());
+  }
+
+  @Test
+  public void testKeysAreInterned() {
+    String key = new String("attribute");
+    Assert.assertSame(FieldAttributes.intern(key), FieldAttributes.intern(new String("attribute")));
+  }
+
+  @Test
+  public void testDataDrivenKeysDoNotStopInterning() {
+    for (int i = 0; i < FieldAttributes.KEY_CACHE_SIZE * 100; i++) {
+      FieldAttributes.intern("column-" + i);
+    }
+    String key = FieldAttributes.intern(new String("attribute"));
+    Assert.assertSame(key, FieldAttributes.intern(new String("attribute")));
+  }
+
+}
@@ -20,6 +20,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -63,4 +64,87 @@ public class TestFieldDeepCopy {
     Assert.assertNotSame(map.get("list").getValueAsList().get(0), listMapClone.get("list").getValueAsList().get(0));
   }
 
+  private static Field createTree() {
+    Map<String, Field> inner = new LinkedHashMap<>();
+    inner.put("a", Field.create("a"));
+    inner.put("list", Field.create(new ArrayList<>(Collections.singletonList(Field.create(1)))));
+    Map<String, Field> root = new LinkedHashMap<>();
+    root.put("inner", Field.create(inner));
+    root.put("b", Field.create("b"));
+    return Field.create(root);
+  }
+
+  @Test
+  public void testCloneIsIsolated() {
+    Field original = createTree();
+    Field expected = createTree();
+    Field clone = original.clone();
+    Assert.assertEquals(original, clone);
+    Assert.assertEquals(original.hashCode(), clone.hashCode());
+
+    // modifying the original does not affect the clone
+    original.getValueAsMap().get("inner").getValueAsMap().put("c", Field.create("c"));
+    original.getValueAsMap().get("inner").getValueAsMap().get("list").getValueAsList().add(Field.create(2));
+    original.getValueAsMap().get("b").setAttribute("attr", "value");
+    Assert.assertEquals(expected, clone);
+    Assert.assertNotEquals(expected, original);
+
+    // modifying the clone does not affect the original nor other clones
+    Field original2 = createTree();
+    Field clone2 = original2.clone();
+    Field clone3 = original2.clone();
+    clone2.getValueAsMap().get("inner").getValueAsMap().remove("a");
+    Assert.assertEquals(expected, original2);
+    Assert.assertEquals(expected, clone3);
+    Assert.assertNotEquals(expected, clone2);
+
+    // clones of clones
+    Field clone4 = clone3.clone();
+    clone3.getValueAsMap().get("inner").getValueAsMap().get("list").getValueAsList().clear();
+    Assert.assertEquals(expected, clone4);
+    Assert.assertEquals(expected, original2);
+  }
+
+  @Test
+  public void testCloneAfterValueReferenceHandedOut() {
+    Field field = createTree();
+    Field expected = createTree();
+
+    // references obtained before cloning can still be used to modify the original only
+    Map<String, Field> root = field.getValueAsMap();
+    List<Field> list = root.get("inner").getValueAsMap().get("list").getValueAsList();
+    Field clone = field.clone();
+    root.put("c", Field.create("c"));
+    list.add(Field.create(2));
+    Assert.assertEquals(expected, clone);
+    Assert.assertEquals(3, field.getValueAsMap().size());
+    Assert.assertEquals(2, field.getValueAsMap().get("inner").getValueAsMap().get("list").getValueAsList().size());
+  }
+
+  @Test
+  public void testCloneOfFieldCreatedByRef() throws Exception {
+    final Map<String, Field> map = new LinkedHashMap<>();
+    map.put("a", Field.create("a"));
+    Field field = CreateByRef.call(() -> Field.create(map));
+    Field clone = field.clone();
+    map.put("b", Field.create("b"));
+    Assert.assertEquals(2, field.getValueAsMap().size());
+    Assert.assertEquals(1, clone.getValueAsMap().size());
+  }
+
+  @Test
+  public void testCreateDoesNotShareWithGivenCollection() {
+    Map<String, Field> inner = new LinkedHashMap<>();
+    inner.put("a", Field.create("a"));
+    Field innerField = Field.create(inner);
+    Map<String, Field> map = new LinkedHashMap<>();
+    map.put("inner", innerField);
+    Field field = Field.create(map);
+
+    map.put("b", Field.create("b"));
+    innerField.getValueAsMap().put("b", Field.create("b"));
+    Assert.assertEquals(1, field.getValueAsMap().size());
+    Assert.assertEquals(1, field.getValueAsMap().get("inner").getValueAsMap().size());
+  }
+
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.Record;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.streamsets.pipeline.api.MockRecords.record;
+
+public class TestMultiRecordFieldBatch {
+
+  // {"a": 1, "b": ["x", {"d": "y"}], "e": {}}
+  private static Field createTree() {
+    Map<String, Field> inner = new LinkedHashMap<>();
+    inner.put("d", Field.create("y"));
+    List<Field> list = new ArrayList<>();
+    list.add(Field.create("x"));
+    list.add(Field.create(inner));
+    LinkedHashMap<String, Field> root = new LinkedHashMap<>();
+    root.put("a", Field.create(1));
+    root.put("b", Field.create(list));
+    root.put("e", Field.create(new LinkedHashMap<String, Field>()));
+    return Field.createListMap(root);
+  }
+
+  private static List<String> visitWithHasNext(MultiRecordFieldBatch batch, List<Record> records) {
+    List<String> visited = new ArrayList<>();
+    while (batch.hasNext()) {
+      Assert.assertTrue(batch.next());
+      visited.add(records.indexOf(batch.getRecord()) + ":" + batch.getFieldPath());
+    }
+    Assert.assertFalse(batch.next());
+    return visited;
+  }
+
+  private static List<String> visitWithNext(MultiRecordFieldBatch batch, List<Record> records) {
+    List<String> visited = new ArrayList<>();
+    while (batch.next()) {
+      visited.add(records.indexOf(batch.getRecord()) + ":" + batch.getFieldPath());
+    }
+    Assert.assertFalse(batch.hasNext());
+    return visited;
+  }
+
+  @Test
+  public void testAllFields() {
+    List<Record> records = ImmutableList.of(
+        record(createTree()),
+        record(null),
+        record(Field.create("z")),
+        record(Field.create(new ArrayList<Field>()))
+    );
+    List<String> expected = ImmutableList.of(
+        "0:", "0:/a", "0:/b", "0:/b[0]", "0:/b[1]", "0:/b[1]/d", "0:/e", "2:", "3:"
+    );
+    MultiRecordFieldBatch batch = new MultiRecordFieldBatch(records);
+    Assert.assertEquals(-1, batch.getRecordIndex());
+    Assert.assertEquals(expected, visitWithHasNext(batch, records));
+    Assert.assertNull(batch.getField());
+
+    batch.reset(records);
+    Assert.assertEquals(expected, visitWithNext(batch, records));
+
+    batch.clear();
+    Assert.assertFalse(batch.hasNext());
+    Assert.assertFalse(batch.next());
+  }
+
+  @Test
+  public void testFilteredFields() {
+    List<Record> records = ImmutableList.of(
+        record(createTree()),
+        record(Field.create(1)),
+        record(Field.create(new ArrayList<Field>())),
+        record(Field.create("z")),
+        record(Field.create(2))
+    );
+    List<String> expected = ImmutableList.of("0:/b[0]", "0:/b[1]/d", "3:");
+    MultiRecordFieldBatch batch = new MultiRecordFieldBatch(records, ImmutableSet.of(Field.Type.STRING));
+    Assert.assertEquals(expected, visitWithHasNext(batch, records));
+    batch.reset(records);
+    Assert.assertEquals(expected, visitWithNext(batch, records));
+
+    batch = new MultiRecordFieldBatch(records, ImmutableSet.of(Field.Type.MAP, Field.Type.INTEGER));
+    Assert.assertEquals(ImmutableList.of("0:/a", "0:/b[1]", "0:/e", "1:", "4:"), visitWithHasNext(batch, records));
+  }
+
+  @Test
+  public void testReplaceAndDrop() {
+    Field root = createTree();
+    List<Record> records = ImmutableList.of(record(root), record(Field.create("w")));
+    MultiRecordFieldBatch batch = new MultiRecordFieldBatch(records, ImmutableSet.of(Field.Type.STRING));
+    List<String> visited = new ArrayList<>();
+    while (batch.hasNext()) {
+      Assert.assertTrue(batch.next());
+      visited.add(batch.getFieldPath());
+      if (batch.getField().getValueAsString().equals("y")) {
+        batch.drop();
+      } else {
+        batch.replace(Field.create(batch.getField().getValueAsString().toUpperCase()));
+      }
+    }
+    Assert.assertEquals(ImmutableList.of("/b[0]", "/b[1]/d", ""), visited);
+    Assert.assertEquals("X", root.getValueAsListMap().get("b").getValueAsList().get(0).getValueAsString());
+    Assert.assertTrue(root.getValueAsListMap().get("b").getValueAsList().get(1).getValueAsMap().isEmpty());
+    Mockito.verify(records.get(1)).set(Field.create("W"));
+  }
+
+  @Test
+  public void testDropMapEntryThenHasNext() {
+    LinkedHashMap<String, Field> map = new LinkedHashMap<>();
+    map.put("a", Field.create("1"));
+    map.put("b", Field.create(1));
+    map.put("c", Field.create("2"));
+    List<Record> records = Collections.singletonList(record(Field.createListMap(map)));
+    MultiRecordFieldBatch batch = new MultiRecordFieldBatch(records, ImmutableSet.of(Field.Type.STRING));
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals("/a", batch.getFieldPath());
+    batch.drop();
+    Assert.assertTrue(batch.hasNext());
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals("/c", batch.getFieldPath());
+    batch.drop();
+    Assert.assertFalse(batch.hasNext());
+    Assert.assertFalse(batch.next());
+  }
+
+  @Test
+  public void testSkipRecord() {
+    List<Record> records = ImmutableList.of(record(createTree()), record(Field.create("z")));
+    MultiRecordFieldBatch batch = new MultiRecordFieldBatch(records);
+    Assert.assertTrue(batch.next());
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals(0, batch.getRecordIndex());
+    batch.skipRecord();
+    Assert.assertNull(batch.getField());
+    Assert.assertTrue(batch.hasNext());
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals(1, batch.getRecordIndex());
+    Assert.assertEquals("z", batch.getField().getValueAsString());
+    Assert.assertFalse(batch.next());
+  }
+
+}
@@ -42,6 +42,20 @@ public class TestRecordBasedFieldBatch {
     validateGetFieldName("/map/in/list[0]", "list");
     validateGetFieldName("/list[1]/in/map", "map");
 
+    // Escaped
+    validateGetFieldName("/map/'a/b'", "a/b");
+    validateGetFieldName("/map/\"list[0]\"[1]", "list[0]");
+
+    validateGetFieldName("/map/'a\\'b'", "a'b");
+    validateGetFieldName("/map/'a\\\\b'", "a\\b");
+
+    // Quotes within a name are taken as they are
+    validateGetFieldName("/map/a'b", "a'b");
+
+    // Not valid field-paths, taken as they are
+    validateGetFieldName("/map/'a", "'a");
+    validateGetFieldName("/map/x]y[2]", "x]y");
+
     // Root
     validateGetFieldName("", "");
     validateGetFieldName("[1]", "");
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.streamsets.pipeline.api.Field;
+import com.streamsets.pipeline.api.FieldPath;
+import com.streamsets.pipeline.api.Record;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.streamsets.pipeline.api.MockRecords.record;
+
+public class TestRecordTreeFieldBatch {
+
+  // {"a": 1, "b c": ["x", {"d": "y"}, []], "e": {}, "f": null map}
+  private static Field createTree() {
+    Map<String, Field> inner = new LinkedHashMap<>();
+    inner.put("d", Field.create("y"));
+    List<Field> list = new ArrayList<>();
+    list.add(Field.create("x"));
+    list.add(Field.create(inner));
+    list.add(Field.create(new ArrayList<>()));
+    LinkedHashMap<String, Field> root = new LinkedHashMap<>();
+    root.put("a", Field.create(1));
+    root.put("b c", Field.create(list));
+    root.put("e", Field.create(new LinkedHashMap<>()));
+    root.put("f", Field.create(Field.Type.MAP, null));
+    return Field.createListMap(root);
+  }
+
+  private static List<String> visit(RecordTreeFieldBatch batch) {
+    return visit(batch, false);
+  }
+
+  private static List<String> visit(RecordTreeFieldBatch batch, boolean readOnly) {
+    List<String> visited = new ArrayList<>();
+    while (batch.hasNext()) {
+      Assert.assertTrue(batch.next());
+      visited.add(batch.getFieldPath());
+      Field field = FieldPath.parse(batch.getFieldPath()).get(batch.getRecord().get());
+      if (readOnly) {
+        // get() hands out and copies the collections shared with clones, which a read-only walk does not
+        Assert.assertEquals(batch.getField(), field);
+      } else {
+        Assert.assertSame(batch.getField(), field);
+      }
+    }
+    Assert.assertFalse(batch.next());
+    return visited;
+  }
+
+  @Test
+  public void testVisitOrder() {
+    RecordTreeFieldBatch batch = new RecordTreeFieldBatch(record(createTree()));
+    Assert.assertEquals(
+        ImmutableList.of("", "/a", "/'b c'", "/'b c'[0]", "/'b c'[1]", "/'b c'[1]/d", "/'b c'[2]", "/e", "/f"),
+        visit(batch)
+    );
+    Assert.assertNull(batch.getField());
+    Assert.assertNull(batch.getFieldPath());
+
+    // the cursor is reused for the next record
+    batch.reset(record(Field.create("only")));
+    Assert.assertEquals(ImmutableList.of(""), visit(batch));
+
+    batch.reset(record(null));
+    Assert.assertFalse(batch.hasNext());
+    Assert.assertFalse(batch.next());
+  }
+
+  @Test
+  public void testReadOnlyPathPrefixAndMaxDepth() {
+    Record record = record(createTree());
+    RecordTreeFieldBatch batch = new RecordTreeFieldBatch(FieldPath.parse("/'b c'"), Integer.MAX_VALUE, true);
+    batch.reset(record);
+    Assert.assertEquals(
+        ImmutableList.of("/'b c'", "/'b c'[0]", "/'b c'[1]", "/'b c'[1]/d", "/'b c'[2]"),
+        visit(batch, true)
+    );
+
+    // list-map indexes are resolved to their keys
+    batch = new RecordTreeFieldBatch(FieldPath.parse("[1]"), Integer.MAX_VALUE, true);
+    batch.reset(record);
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals("/'b c'", batch.getFieldPath());
+    Assert.assertEquals("b c", batch.getFieldName());
+    Assert.assertSame(record.get(), batch.getParentField());
+    Assert.assertEquals("", batch.getParentFieldPath());
+    Assert.assertEquals(-1, batch.getIndexInParent());
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals("/'b c'[0]", batch.getFieldPath());
+    Assert.assertEquals(0, batch.getIndexInParent());
+
+    batch = new RecordTreeFieldBatch(FieldPath.ROOT, 1, true);
+    batch.reset(record);
+    Assert.assertEquals(ImmutableList.of("", "/a", "/'b c'", "/e", "/f"), visit(batch, true));
+
+    batch = new RecordTreeFieldBatch(FieldPath.parse("/'b c'[1]"), 2, true);
+    batch.reset(record);
+    Assert.assertEquals(ImmutableList.of("/'b c'[1]"), visit(batch, true));
+    batch = new RecordTreeFieldBatch(FieldPath.parse("/'b c'[1]"), 3, true);
+    batch.reset(record);
+    Assert.assertEquals(ImmutableList.of("/'b c'[1]", "/'b c'[1]/d"), visit(batch, true));
+
+    for (String prefix : ImmutableList.of("/missing", "/a/b", "/'b c'[3]", "[4]", "/'b c'/d", "/f/g")) {
+      batch = new RecordTreeFieldBatch(FieldPath.parse(prefix), Integer.MAX_VALUE, true);
+      batch.reset(record);
+      Assert.assertEquals(prefix, ImmutableList.of(), visit(batch, true));
+    }
+    batch = new RecordTreeFieldBatch(FieldPath.parse("/'b c'[1]"), 1, true);
+    batch.reset(record);
+    Assert.assertEquals(ImmutableList.of(), visit(batch, true));
+  }
+
+  @Test
+  public void testReadOnlyHasNextOfTypes() {
+    boolean[] strings = new boolean[Field.Type.values().length];
+    strings[Field.Type.STRING.ordinal()] = true;
+    RecordTreeFieldBatch batch = new RecordTreeFieldBatch(FieldPath.ROOT, 2, true);
+    batch.reset(record(createTree()));
+    Assert.assertTrue(batch.hasNext(strings));
+    while (batch.next() && !"/'b c'[0]".equals(batch.getFieldPath())) {
+      Assert.assertTrue(batch.hasNext(strings));
+    }
+    // "/'b c'[1]/d" is below the maximum depth
+    Assert.assertFalse(batch.hasNext(strings));
+
+    batch = new RecordTreeFieldBatch(FieldPath.ROOT, 1, true);
+    batch.reset(record(createTree()));
+    Assert.assertFalse(batch.hasNext(strings));
+    batch = new RecordTreeFieldBatch(FieldPath.parse("/'b c'[1]"), 3, true);
+    batch.reset(record(createTree()));
+    Assert.assertTrue(batch.hasNext(strings));
+  }
+
+  @Test
+  public void testBoundedDoesNotReplaceOrDrop() {
+    Record record = record(createTree());
+    RecordTreeFieldBatch batch = new RecordTreeFieldBatch(FieldPath.ROOT, Integer.MAX_VALUE, false);
+    batch.reset(record);
+    Assert.assertTrue(batch.next());
+    Assert.assertTrue(batch.next());
+    try {
+      batch.replace(Field.create(2));
+      Assert.fail();
+    } catch (UnsupportedOperationException ex) {
+      // expected
+    }
+    try {
+      batch.drop();
+      Assert.fail();
+    } catch (UnsupportedOperationException ex) {
+      // expected
+    }
+    Assert.assertEquals(1, record.get().getValueAsMap().get("a").getValueAsInteger());
+  }
+
+  @Test
+  public void testDeepTree() {
+    Field field = Field.create("leaf");
+    StringBuilder path = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      field = (i % 2 == 0) ? Field.create(ImmutableList.of(field)) : Field.create(singletonMap("k", field));
+      path.insert(0, (i % 2 == 0) ? "[0]" : "/k");
+    }
+    List<String> visited = visit(new RecordTreeFieldBatch(record(field)));
+    Assert.assertEquals(21, visited.size());
+    Assert.assertEquals(path.toString(), visited.get(20));
+  }
+
+  private static Map<String, Field> singletonMap(String key, Field value) {
+    Map<String, Field> map = new LinkedHashMap<>();
+    map.put(key, value);
+    return map;
+  }
+
+  @Test
+  public void testParentAndName() {
+    RecordTreeFieldBatch batch = new RecordTreeFieldBatch(record(createTree()));
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals("", batch.getFieldName());
+    Assert.assertNull(batch.getParentField());
+    Assert.assertNull(batch.getParentFieldPath());
+    Assert.assertEquals(-1, batch.getIndexInParent());
+
+    Field root = batch.getField();
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals("a", batch.getFieldName());
+    Assert.assertSame(root, batch.getParentField());
+    Assert.assertEquals("", batch.getParentFieldPath());
+    Assert.assertEquals(-1, batch.getIndexInParent());
+
+    Assert.assertTrue(batch.next());
+    Field list = batch.getField();
+    Assert.assertTrue(batch.next());
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals("/'b c'[1]", batch.getFieldPath());
+    Assert.assertEquals("b c", batch.getFieldName());
+    Assert.assertSame(list, batch.getParentField());
+    Assert.assertEquals("/'b c'", batch.getParentFieldPath());
+    Assert.assertEquals(1, batch.getIndexInParent());
+
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals("d", batch.getFieldName());
+    Assert.assertEquals("/'b c'[1]", batch.getParentFieldPath());
+    Assert.assertEquals(-1, batch.getIndexInParent());
+  }
+
+  @Test
+  public void testReplaceAndDrop() {
+    Field root = createTree();
+    RecordTreeFieldBatch batch = new RecordTreeFieldBatch(record(root));
+    List<String> visited = new ArrayList<>();
+    while (batch.next()) {
+      visited.add(batch.getFieldPath());
+      switch (batch.getFieldPath()) {
+        case "/a":
+          batch.replace(Field.create(ImmutableList.of(Field.create(2))));
+          break;
+        case "/'b c'[0]":
+        case "/'b c'[1]":
+        case "/e":
+          batch.drop();
+          Assert.assertNull(batch.getField());
+          break;
+        default:
+      }
+    }
+    // the replacement children are visited, the elements following a dropped list element are not skipped
+    Assert.assertEquals(
+        ImmutableList.of("", "/a", "/a[0]", "/'b c'", "/'b c'[0]", "/'b c'[0]", "/'b c'[0]", "/e", "/f"),
+        visited
+    );
+    Map<String, Field> expected = new LinkedHashMap<>();
+    expected.put("a", Field.create(ImmutableList.of(Field.create(2))));
+    // every element ends up at index 0 before being dropped
+    expected.put("b c", Field.create(new ArrayList<>()));
+    expected.put("f", Field.create(Field.Type.MAP, null));
+    Assert.assertEquals(expected, root.getValueAsListMap());
+  }
+
+  @Test
+  public void testHasNextAfterDrop() {
+    Field root = Field.create(new ArrayList<>(ImmutableList.of(Field.create(1), Field.create(2))));
+    RecordTreeFieldBatch batch = new RecordTreeFieldBatch(record(root));
+    Assert.assertTrue(batch.next());
+    Assert.assertTrue(batch.next());
+    batch.drop();
+    Assert.assertTrue(batch.hasNext());
+    Assert.assertTrue(batch.next());
+    Assert.assertEquals(Field.create(2), batch.getField());
+    batch.drop();
+    Assert.assertFalse(batch.hasNext());
+    Assert.assertFalse(batch.next());
+    Assert.assertTrue(root.getValueAsList().isEmpty());
+  }
+
+  @Test
+  public void testReplaceAndDropRoot() {
+    Record record = record(Field.create("root"));
+    RecordTreeFieldBatch batch = new RecordTreeFieldBatch(record);
+    Assert.assertTrue(batch.next());
+    batch.replace(Field.create("other"));
+    Mockito.verify(record).set(Field.create("other"));
+    batch.drop();
+    Mockito.verify(record).set((Field) null);
+    Assert.assertFalse(batch.next());
+  }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 StreamSets Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.streamsets.pipeline.api.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.streamsets.pipeline.api.Field;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TestTypeConverters {
+
+  private static final Map<Field.Type, TypeSupport<?>> SUPPORTERS = ImmutableMap.<Field.Type, TypeSupport<?>>builder()
+      .put(Field.Type.BOOLEAN, new BooleanTypeSupport())
+      .put(Field.Type.CHAR, new CharTypeSupport())
+      .put(Field.Type.BYTE, new ByteTypeSupport())
+      .put(Field.Type.SHORT, new ShortTypeSupport())
+      .put(Field.Type.INTEGER, new IntegerTypeSupport())
+      .put(Field.Type.LONG, new LongTypeSupport())
+      .put(Field.Type.FLOAT, new FloatTypeSupport())
+      .put(Field.Type.DOUBLE, new DoubleTypeSupport())
+      .put(Field.Type.DATE, new DateTypeSupport())
+      .put(Field.Type.DATETIME, new DateTypeSupport())
+      .put(Field.Type.TIME, new DateTypeSupport())
+      .put(Field.Type.DECIMAL, new DecimalTypeSupport())
+      .put(Field.Type.STRING, new StringTypeSupport())
+      .put(Field.Type.FILE_REF, new FileRefTypeSupport())
+      .put(Field.Type.BYTE_ARRAY, new ByteArrayTypeSupport())
+      .put(Field.Type.MAP, new MapTypeSupport())
+      .put(Field.Type.LIST, new ListTypeSupport())
+      .put(Field.Type.LIST_MAP, new ListMapTypeSupport())
+      .put(Field.Type.ZONED_DATETIME, new ZonedDateTimeTypeSupport())
+      .build();
+
+  private static final Map<Field.Type, List<Object>> VALUES = ImmutableMap.<Field.Type, List<Object>>builder()
+      .put(Field.Type.BOOLEAN, ImmutableList.of(true, false))
+      .put(Field.Type.BYTE, ImmutableList.of((byte) 0, (byte) 1, Byte.MIN_VALUE, Byte.MAX_VALUE))
+      .put(Field.Type.SHORT, ImmutableList.of((short) 0, (short) -1, Short.MIN_VALUE, Short.MAX_VALUE))
+      .put(Field.Type.INTEGER, ImmutableList.of(0, 1, -5, Integer.MIN_VALUE, Integer.MAX_VALUE))
+      .put(Field.Type.LONG, ImmutableList.of(0L, 1L, -5L, Long.MIN_VALUE, Long.MAX_VALUE))
+      .put(Field.Type.FLOAT, ImmutableList.of(0f, -0f, 1f, -1.5f, 123456f, 1e7f, 1e10f, 1e-5f, Float.MAX_VALUE,
+          Float.NaN, Float.NEGATIVE_INFINITY))
+      .put(Field.Type.DOUBLE, ImmutableList.of(0d, -0d, 1d, -1.5d, 123456d, 9999999d, 1e7d, 1e20d, 1e-5d,
+          Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY))
+      .put(Field.Type.DECIMAL, ImmutableList.of(BigDecimal.ZERO, new BigDecimal("0.00"), BigDecimal.ONE,
+          new BigDecimal("-3.75"), new BigDecimal("1e400")))
+      .put(Field.Type.STRING, ImmutableList.of("1", "-12", "1.5", "1e3", "99999999999", "true", "abc", "",
+          "2020-01-01T00:00Z"))
+      .put(Field.Type.DATE, ImmutableList.of(new Date(0), new Date(1234567890123L)))
+      .put(Field.Type.DATETIME, ImmutableList.of(new Date(0), new Date(1234567890123L)))
+      .put(Field.Type.TIME, ImmutableList.of(new Date(0), new Date(1234567890123L)))
+      .build();
+
+  private static Object convert(TypeSupport<?> source, Object value, TypeSupport<?> target) {
+    try {
+      return source.convert(value, target);
+    } catch (Exception ex) {
+      return ex;
+    }
+  }
+
+  private static Object convert(TypeConverters.Converter converter, Object value) {
+    try {
+      return converter.convert(value);
+    } catch (Exception ex) {
+      return ex;
+    }
+  }
+
+  @Test
+  public void testSameAsTypeSupport() {
+    for (Map.Entry<Field.Type, List<Object>> entry : VALUES.entrySet()) {
+      Field.Type source = entry.getKey();
+      for (Field.Type target : Field.Type.values()) {
+        TypeConverters.Converter converter = TypeConverters.get(source, target);
+        if (converter == null) {
+          continue;
+        }
+        for (Object value : entry.getValue()) {
+          String message = source + " " + value + " to " + target;
+          Object expected = convert(SUPPORTERS.get(source), value, SUPPORTERS.get(target));
+          Object got = convert(converter, value);
+          if (expected instanceof Exception) {
+            Assert.assertTrue(message, got instanceof Exception);
+            Assert.assertEquals(message, expected.getClass(), got.getClass());
+            Assert.assertEquals(message, ((Exception) expected).getMessage(), ((Exception) got).getMessage());
+          } else {
+            Assert.assertEquals(message, expected, got);
+            Assert.assertEquals(message, expected.getClass(), got.getClass());
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testNoConverterForUnsupportedPairs() {
+    Assert.assertNull(TypeConverters.get(Field.Type.BOOLEAN, Field.Type.INTEGER));
+    Assert.assertNull(TypeConverters.get(Field.Type.DOUBLE, Field.Type.DATE));
+    Assert.assertNull(TypeConverters.get(Field.Type.STRING, Field.Type.DATE));
+    Assert.assertNull(TypeConverters.get(Field.Type.MAP, Field.Type.STRING));
+  }
+
+  @Test
+  public void testDecimalSameAsStringConversion() {
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; i++) {
+      double d = (random.nextBoolean() ? random.nextInt(20000000) - 10000000 : random.nextDouble() * 1e8)
+          * (random.nextBoolean() ? 1 : 0.25);
+      Assert.assertEquals(new BigDecimal(Double.toString(d)), DecimalTypeSupport.toDecimal(d));
+      float f = (float) d;
+      Assert.assertEquals(new BigDecimal(Float.toString(f)), DecimalTypeSupport.toDecimal(f));
+      long l = random.nextLong() >> random.nextInt(64);
+      Assert.assertEquals(new BigDecimal(Long.toString(l)), DecimalTypeSupport.toDecimal(l));
+    }
+  }
+
+}
@@ -18,7 +18,12 @@ package com.streamsets.pipeline.api.impl;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.text.DateFormat;
 import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
 
 public class TestUtils {
   @Test
@@ -51,6 +56,57 @@ public class TestUtils {
     Assert.assertNotNull(Utils.parse("20141022T13:30Z"));
   }
 
+  private static Date legacyParse(String str) throws ParseException {
+    DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm'Z'");
+    dateFormat.setLenient(false);
+    dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    return dateFormat.parse(str);
+  }
+
+  private static void assertSameAsLegacyParse(String str) {
+    Date expected;
+    try {
+      expected = legacyParse(str);
+    } catch (ParseException ex) {
+      expected = null;
+    }
+    Date got;
+    try {
+      got = Utils.parse(str);
+    } catch (ParseException ex) {
+      got = null;
+    }
+    Assert.assertEquals(str, expected, got);
+  }
+
+  @Test
+  public void testDateParsingSameAsSimpleDateFormat() {
+    String[] inputs = {
+        "2014-10-22T13:30Z", "1970-01-01T00:00Z", "9999-12-31T23:59Z", "2016-02-29T12:00Z", "2015-02-29T12:00Z",
+        "2011-12-50T01:00Z", "2011-13-01T01:00Z", "2011-00-01T01:00Z", "2011-12-00T01:00Z", "2011-04-31T01:00Z",
+        "2011-12-01T24:00Z", "2011-12-01T23:60Z", "2011-12-01T01:00", "2011-12-01T01:00Zxyz", "2011-12-01T01:00:00Z",
+        "2011-1-5T1:0Z", "11-12-01T01:00Z", "02011-12-01T01:00Z", "0000-01-01T00:00Z", "0001-01-01T00:00Z",
+        "1582-10-04T00:00Z", "1582-10-10T00:00Z", "1582-10-15T00:00Z", "1583-01-01T00:00Z", "-2011-12-01T01:00Z",
+        "+2011-12-01T01:00Z", " 2011-12-01T01:00Z", "2011-12-01t01:00Z", "2011-12-01T01:00z", "\u0662011-12-01T01:00Z",
+        "2011/12/01T01:00Z", "", "T", "abc"
+    };
+    for (String input : inputs) {
+      assertSameAsLegacyParse(input);
+    }
+
+    Random random = new Random(0);
+    String chars = "0123456789-T:Z";
+    for (int i = 0; i < 20000; i++) {
+      char[] str = String.format("%04d-%02d-%02dT%02d:%02dZ",
+          1500 + random.nextInt(600), random.nextInt(14), random.nextInt(33), random.nextInt(26), random.nextInt(62)
+      ).toCharArray();
+      if (random.nextInt(4) == 0) {
+        str[random.nextInt(str.length)] = chars.charAt(random.nextInt(chars.length()));
+      }
+      assertSameAsLegacyParse(new String(str));
+    }
+  }
+
   @Test
   public void testIntPadding() {
     Assert.assertEquals("1", Utils.intToPaddedString(1, 1));